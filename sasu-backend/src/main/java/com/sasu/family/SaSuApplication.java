@@ -2,6 +2,7 @@ package com.sasu.family;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * SaSu Family Wealth & Future Readiness Dashboard
@@ -15,6 +16,7 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
  * - Calm, motivating, safe design
  */
 @SpringBootApplication
+@EnableScheduling
 public class SaSuApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,90 @@
+package com.sasu.family.controller;
+
+import com.sasu.family.dto.RevaluationReportDTO;
+import com.sasu.family.model.HouseholdAggregate;
+import com.sasu.family.service.HouseholdAggregatesService;
+import com.sasu.family.service.RevaluationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Aggregates Controller
+ *
+ * Maintenance commands for the household_aggregates table.
+ *
+ * ADMIN only.
+ */
+@RestController
+@RequestMapping("/api/aggregates")
+@CrossOrigin(origins = "*")
+@RequiredArgsConstructor
+public class AggregatesController {
+
+    private final HouseholdAggregatesService householdAggregatesService;
+    private final RevaluationService revaluationService;
+
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<HouseholdAggregate>> getAggregates() {
+        return ResponseEntity.ok(householdAggregatesService.getAll());
+    }
+
+    /**
+     * Compare the stored running totals against the base tables
+     */
+    @GetMapping("/verify")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> verify() {
+        List<String> mismatches = householdAggregatesService.verify();
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("consistent", mismatches.isEmpty());
+        response.put("mismatches", mismatches);
+
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Recompute the running totals from the base tables
+     */
+    @PostMapping("/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> rebuild() {
+        int changed = householdAggregatesService.rebuild();
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("rowsChanged", changed);
+        response.put("message", "Household aggregates rebuilt successfully");
+
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Run the nightly revaluation of auto-growth assets and auto-calculate liabilities now
+     */
+    @PostMapping("/revalue")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> revalue() {
+        return revaluationService.run("MANUAL")
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.CONFLICT)
+                        .body(Map.of("message", "Revaluation is already running")));
+    }
+
+    /**
+     * Report of the most recent revaluation run
+     */
+    @GetMapping("/revaluation")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<RevaluationReportDTO> lastRevaluation() {
+        RevaluationReportDTO report = revaluationService.getLastReport();
+        return report != null ? ResponseEntity.ok(report) : ResponseEntity.noContent().build();
+    }
+}
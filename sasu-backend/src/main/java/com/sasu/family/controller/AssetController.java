@@ -2,12 +2,17 @@ package com.sasu.family.controller;
 
 import com.sasu.family.model.Asset;
 import com.sasu.family.service.AssetService;
+import com.sasu.family.service.DataVersionService;
+import com.sasu.family.util.ETags;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 
 /**
@@ -24,17 +29,30 @@ import java.util.List;
 public class AssetController {
 
     private final AssetService assetService;
+    private final DataVersionService dataVersionService;
 
+    /**
+     * Auto-growth assets are valued as of {@code asOf} (default: today)
+     */
     @GetMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'FAMILY')")
-    public ResponseEntity<List<Asset>> getAllAssets() {
-        return ResponseEntity.ok(assetService.getAllAssets());
+    public ResponseEntity<List<Asset>> getAllAssets(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOf,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        LocalDate date = asOf != null ? asOf : LocalDate.now();
+        String etag = ETags.strong("assets", dataVersionService.stamp(DataVersionService.Scope.ASSETS), date);
+        return ETags.conditional(ifNoneMatch, etag, () -> ResponseEntity.ok(assetService.getAllAssets(date)));
     }
 
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('ADMIN', 'FAMILY')")
-    public ResponseEntity<Asset> getAssetById(@PathVariable Long id) {
-        return ResponseEntity.ok(assetService.getAssetById(id));
+    public ResponseEntity<Asset> getAssetById(
+            @PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOf,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        LocalDate date = asOf != null ? asOf : LocalDate.now();
+        String etag = ETags.strong("asset", id, dataVersionService.stamp(DataVersionService.Scope.ASSETS), date);
+        return ETags.conditional(ifNoneMatch, etag, () -> ResponseEntity.ok(assetService.getAssetById(id, date)));
     }
 
     @PostMapping
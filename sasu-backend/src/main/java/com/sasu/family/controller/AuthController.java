@@ -5,13 +5,22 @@ import com.sasu.family.dto.LoginResponse;
 import com.sasu.family.dto.RegisterRequest;
 import com.sasu.family.model.User;
 import com.sasu.family.repository.UserRepository;
+import com.sasu.family.security.CustomUserDetailsService;
 import com.sasu.family.security.JwtUtil;
+import com.sasu.family.security.LoginGuard;
+import com.sasu.family.security.TokenRevocationService;
+import com.sasu.family.security.VerifiedToken;
+import io.jsonwebtoken.JwtException;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
@@ -19,6 +28,13 @@ import org.springframework.web.bind.annotation.*;
  * Authentication Controller
  *
  * Handles login for all family members.
+ *
+ * Attempts are throttled per client address and failures per username (from
+ * each address and overall), and password hashing runs on the bounded pool
+ * of {@link LoginGuard}.
+ *
+ * Logout revokes the presented token; with {@code all=true} it bumps the
+ * user's security version, which cuts off every token of the user.
  */
 @RestController
 @RequestMapping("/api/auth")
@@ -30,18 +46,28 @@ public class AuthController {
     private final JwtUtil jwtUtil;
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final LoginGuard loginGuard;
+    private final TokenRevocationService tokenRevocationService;
+    private final CustomUserDetailsService userDetailsService;
 
     @PostMapping("/login")
-    public ResponseEntity<?> login(@RequestBody LoginRequest request) {
+    public ResponseEntity<?> login(@RequestBody LoginRequest request, HttpServletRequest httpRequest) {
         try {
-            Authentication authentication = authenticationManager.authenticate(
-                    new UsernamePasswordAuthenticationToken(request.getUsername(), request.getPassword())
-            );
+            loginGuard.checkAttempt(request.getUsername(), httpRequest.getRemoteAddr());
+            Authentication authentication;
+            try {
+                authentication = loginGuard.hash(() -> authenticationManager.authenticate(
+                        new UsernamePasswordAuthenticationToken(request.getUsername(), request.getPassword())
+                ));
+            } catch (AuthenticationException e) {
+                loginGuard.recordFailure(request.getUsername(), httpRequest.getRemoteAddr());
+                throw e;
+            }
 
             User user = userRepository.findByUsername(request.getUsername())
                     .orElseThrow(() -> new RuntimeException("User not found"));
 
-            String token = jwtUtil.generateToken(user.getUsername(), user.getRole().name());
+            String token = jwtUtil.generateToken(user.getUsername(), user.getRole().name(), user.currentSecurityVersion());
 
             LoginResponse response = LoginResponse.builder()
                     .token(token)
@@ -51,6 +77,8 @@ public class AuthController {
                     .build();
 
             return ResponseEntity.ok(response);
+        } catch (LoginGuard.LoginRejectedException e) {
+            return rejected(e);
         } catch (Exception e) {
             System.err.println("Login failed for user: " + request.getUsername() + " - Error: " + e.getMessage());
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
@@ -59,8 +87,10 @@ public class AuthController {
     }
 
     @PostMapping("/register")
-    public ResponseEntity<?> register(@RequestBody RegisterRequest request) {
+    public ResponseEntity<?> register(@RequestBody RegisterRequest request, HttpServletRequest httpRequest) {
         try {
+            loginGuard.checkAttempt(null, httpRequest.getRemoteAddr());
+
             // Validation
             if (request.getUsername() == null || request.getUsername().trim().isEmpty()) {
                 return ResponseEntity.badRequest().body("Username is required");
@@ -87,9 +117,10 @@ public class AuthController {
                 return ResponseEntity.badRequest().body("Invalid role. Must be ADMIN or FAMILY");
             }
 
+            String passwordHash = loginGuard.hash(() -> passwordEncoder.encode(request.getPassword()));
             User user = User.builder()
                     .username(request.getUsername())
-                    .password(passwordEncoder.encode(request.getPassword()))
+                    .password(passwordHash)
                     .fullName(request.getFullName())
                     .role(role)
                     .active(true)
@@ -98,11 +129,56 @@ public class AuthController {
             userRepository.save(user);
 
             return ResponseEntity.ok("User registered successfully");
+        } catch (LoginGuard.LoginRejectedException e) {
+            return rejected(e);
         } catch (Exception e) {
             System.err.println("Registration failed: " + e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body("Registration failed: " + e.getMessage());
         }
     }
-}
 
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+            @RequestParam(defaultValue = "false") boolean all) {
+        if (authorization == null || !authorization.startsWith("Bearer ")) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Missing token");
+        }
+        VerifiedToken token;
+        try {
+            token = jwtUtil.verify(authorization.substring(7));
+        } catch (JwtException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid token");
+        }
+        if (token.tokenId() != null && tokenRevocationService.isRevoked(token.tokenId())) {
+            return ResponseEntity.ok("Logged out");
+        }
+        try {
+            if (userDetailsService.loadPrincipal(token.username(), token.securityVersion()) == null) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Token is no longer valid");
+            }
+        } catch (UsernameNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Token is no longer valid");
+        }
+
+        if (all) {
+            User user = userRepository.findByUsername(token.username())
+                    .orElseThrow(() -> new RuntimeException("User not found"));
+            user.bumpSecurityVersion();
+            userRepository.save(user);
+            return ResponseEntity.ok("Logged out on all devices");
+        }
+        if (token.tokenId() == null) {
+            return ResponseEntity.badRequest().body("This token predates logout support; use all=true to cut it off");
+        }
+        tokenRevocationService.revoke(token);
+        return ResponseEntity.ok("Logged out");
+    }
+
+    private static ResponseEntity<?> rejected(LoginGuard.LoginRejectedException e) {
+        return ResponseEntity.status(e.getStatus())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(e.getMessage());
+    }
+}
@@ -1,18 +1,37 @@
 package com.sasu.family.controller;
 
-import com.sasu.family.dto.DashboardSummaryDTO;
+import com.sasu.family.service.DashboardSection;
 import com.sasu.family.service.DashboardService;
+import com.sasu.family.service.DataVersionService;
+import com.sasu.family.service.ScoreSensitivityService;
+import com.sasu.family.util.ETags;
+import com.sasu.family.util.ExchangeRates;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Set;
+
 /**
  * Dashboard Controller
  *
  * Provides family financial health overview.
  *
  * Available to all authenticated users (ADMIN and FAMILY).
+ *
+ * Auto-growth assets are valued as of {@code asOf} (default: today).
+ * Amounts are reported in {@code currency} (default: LKR).
+ *
+ * With {@code sections=totals,score,assets,liabilities,burden} only the
+ * listed sections are computed and returned, each with its own ETag.
+ *
+ * {@code /next-actions} ranks the actions that raise the score the most
+ * per rupee spent.
  */
 @RestController
 @RequestMapping("/api/dashboard")
@@ -21,11 +40,44 @@ import org.springframework.web.bind.annotation.*;
 public class DashboardController {
 
     private final DashboardService dashboardService;
+    private final ScoreSensitivityService scoreSensitivityService;
+    private final DataVersionService dataVersionService;
 
     @GetMapping("/summary")
     @PreAuthorize("hasAnyRole('ADMIN', 'FAMILY')")
-    public ResponseEntity<DashboardSummaryDTO> getDashboardSummary() {
-        return ResponseEntity.ok(dashboardService.getDashboardSummary());
+    public ResponseEntity<?> getDashboardSummary(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOf,
+            @RequestParam(required = false) String currency,
+            @RequestParam(required = false) String sections,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        LocalDate date = asOf != null ? asOf : LocalDate.now();
+        try {
+            if (sections == null) {
+                return ETags.conditional(ifNoneMatch, dashboardService.summaryETag(date, currency),
+                        () -> ResponseEntity.ok(dashboardService.getDashboardSummary(date, currency)));
+            }
+            Set<DashboardSection> requested = DashboardSection.parse(sections);
+            return ETags.conditional(ifNoneMatch, dashboardService.sectionsETag(requested, date, currency),
+                    () -> ResponseEntity.ok(dashboardService.getDashboardSections(requested, date, currency)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
     }
-}
 
+    @GetMapping("/next-actions")
+    @PreAuthorize("hasAnyRole('ADMIN', 'FAMILY')")
+    public ResponseEntity<?> getNextActions(
+            @RequestParam(required = false) String currency,
+            @RequestParam(defaultValue = "" + ScoreSensitivityService.DEFAULT_TOP) int top,
+            @RequestParam(defaultValue = "" + ScoreSensitivityService.DEFAULT_STEPS) int steps,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        try {
+            String etag = ETags.strong("next-actions", dataVersionService.stamp(DataVersionService.Scope.values()),
+                    ExchangeRates.normalize(currency), top, steps, LocalDate.now());
+            return ETags.conditional(ifNoneMatch, etag,
+                    () -> ResponseEntity.ok(scoreSensitivityService.getNextActions(currency, top, steps)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+}
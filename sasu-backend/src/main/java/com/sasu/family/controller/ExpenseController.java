@@ -2,8 +2,13 @@ package com.sasu.family.controller;
 
 import com.sasu.family.model.Expense;
 import com.sasu.family.repository.ExpenseRepository;
+import com.sasu.family.service.DataVersionService;
+import com.sasu.family.service.HouseholdAggregatesService;
+import com.sasu.family.util.ETags;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -15,45 +20,63 @@ import java.util.List;
 public class ExpenseController {
 
     private final ExpenseRepository expenseRepository;
+    private final HouseholdAggregatesService householdAggregatesService;
+    private final DataVersionService dataVersionService;
 
     @GetMapping
-    public ResponseEntity<List<Expense>> getAllExpenses() {
-        return ResponseEntity.ok(expenseRepository.findByActiveTrue());
+    public ResponseEntity<List<Expense>> getAllExpenses(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = ETags.strong("expenses", dataVersionService.stamp(DataVersionService.Scope.EXPENSES));
+        return ETags.conditional(ifNoneMatch, etag, () -> ResponseEntity.ok(expenseRepository.findByActiveTrue()));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Expense> getExpenseById(@PathVariable Long id) {
-        return expenseRepository.findById(id)
+    public ResponseEntity<Expense> getExpenseById(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = ETags.strong("expense", id, dataVersionService.stamp(DataVersionService.Scope.EXPENSES));
+        return ETags.conditional(ifNoneMatch, etag, () -> expenseRepository.findById(id)
                 .map(ResponseEntity::ok)
-                .orElse(ResponseEntity.notFound().build());
+                .orElse(ResponseEntity.notFound().build()));
     }
 
     @PostMapping
+    @Transactional
     public ResponseEntity<Expense> createExpense(@RequestBody Expense expense) {
         expense.setActive(true);
         Expense savedExpense = expenseRepository.save(expense);
+        householdAggregatesService.include(savedExpense);
+        dataVersionService.bump(DataVersionService.Scope.EXPENSES);
         return ResponseEntity.ok(savedExpense);
     }
 
     @PutMapping("/{id}")
+    @Transactional
     public ResponseEntity<Expense> updateExpense(@PathVariable Long id, @RequestBody Expense expense) {
         return expenseRepository.findById(id)
                 .map(existingExpense -> {
+                    householdAggregatesService.exclude(existingExpense);
                     expense.setId(id);
                     if (expense.getActive() == null) {
                         expense.setActive(existingExpense.getActive());
                     }
-                    return ResponseEntity.ok(expenseRepository.save(expense));
+                    Expense savedExpense = expenseRepository.save(expense);
+                    householdAggregatesService.include(savedExpense);
+                    dataVersionService.bump(DataVersionService.Scope.EXPENSES);
+                    return ResponseEntity.ok(savedExpense);
                 })
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @DeleteMapping("/{id}")
+    @Transactional
     public ResponseEntity<Void> deleteExpense(@PathVariable Long id) {
         return expenseRepository.findById(id)
                 .map(expense -> {
+                    householdAggregatesService.exclude(expense);
                     expense.setActive(false);
                     expenseRepository.save(expense);
+                    dataVersionService.bump(DataVersionService.Scope.EXPENSES);
                     return ResponseEntity.ok().<Void>build();
                 })
                 .orElse(ResponseEntity.notFound().build());
@@ -1,17 +1,35 @@
 package com.sasu.family.controller;
 
-import com.sasu.family.dto.FutureProjectionDTO;
+import com.sasu.family.dto.ProjectionMatrixRequestDTO;
+import com.sasu.family.service.CashFlowService;
+import com.sasu.family.service.DataVersionService;
 import com.sasu.family.service.FutureProjectionService;
+import com.sasu.family.service.MonteCarloSimulator;
+import com.sasu.family.service.ProjectionEngine;
+import com.sasu.family.service.ProjectionMatrixService;
+import com.sasu.family.service.RetirementService;
+import com.sasu.family.util.ETags;
+import com.sasu.family.util.ExchangeRates;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
 /**
  * Future Projection Controller
  *
  * Shows year-wise future benefits.
  * Available to all authenticated users.
+ *
+ * Amounts are reported in {@code currency} (default: LKR). {@code resolution}
+ * is FIVE_YEARLY (default), YEARLY or MONTHLY, over {@code horizonYears}
+ * (default 30, up to 100). {@code mode=MONTE_CARLO} adds P10/P50/P90 bands
+ * from {@code paths} simulated paths (default 10000), reproducible per {@code seed}.
  */
 @RestController
 @RequestMapping("/api/future")
@@ -20,12 +38,109 @@ import org.springframework.web.bind.annotation.*;
 public class FutureProjectionController {
 
     private final FutureProjectionService futureProjectionService;
+    private final CashFlowService cashFlowService;
+    private final RetirementService retirementService;
+    private final ProjectionMatrixService projectionMatrixService;
+    private final DataVersionService dataVersionService;
 
     @GetMapping("/projections")
     @PreAuthorize("hasAnyRole('ADMIN', 'FAMILY')")
-    public ResponseEntity<FutureProjectionDTO> getFutureProjections(
-            @RequestParam(defaultValue = "35") int currentAge) {
-        return ResponseEntity.ok(futureProjectionService.getFutureProjections(currentAge));
+    public ResponseEntity<?> getFutureProjections(
+            @RequestParam(defaultValue = "35") int currentAge,
+            @RequestParam(required = false) String currency,
+            @RequestParam(required = false) String resolution,
+            @RequestParam(defaultValue = "30") int horizonYears,
+            @RequestParam(defaultValue = "DETERMINISTIC") String mode,
+            @RequestParam(defaultValue = "" + MonteCarloSimulator.DEFAULT_PATHS) int paths,
+            @RequestParam(defaultValue = "" + MonteCarloSimulator.DEFAULT_SEED) long seed,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        try {
+            ProjectionEngine.Resolution stepResolution = ProjectionEngine.Resolution.parse(resolution);
+            boolean monteCarlo = isMonteCarlo(mode);
+            // Projections start from today's values, so the date is part of the tag
+            String etag = ETags.strong("projections", dataVersionService.stamp(DataVersionService.Scope.ASSETS,
+                            DataVersionService.Scope.INSURANCE, DataVersionService.Scope.CONFIG),
+                    currentAge, ExchangeRates.normalize(currency), stepResolution, horizonYears,
+                    monteCarlo ? paths + ":" + seed : FutureProjectionService.MODE_DETERMINISTIC, LocalDate.now());
+            return ETags.conditional(ifNoneMatch, etag, () -> ResponseEntity.ok(monteCarlo
+                    ? futureProjectionService.getMonteCarloProjections(currentAge, currency, stepResolution, horizonYears, paths, seed)
+                    : futureProjectionService.getFutureProjections(currentAge, currency, stepResolution, horizonYears)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Sensitivity table: projections for every combination of growth-rate
+     * adjustment and inflation rate, read at each retirement age
+     */
+    @PostMapping("/matrix")
+    @PreAuthorize("hasAnyRole('ADMIN', 'FAMILY')")
+    public ResponseEntity<?> getProjectionMatrix(@RequestBody ProjectionMatrixRequestDTO request) {
+        try {
+            return ResponseEntity.ok(projectionMatrixService.getMatrix(request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Monthly cash-flow simulation (incomes, expenses, EMIs, premiums,
+     * maturities, asset growth) reported per year
+     */
+    @GetMapping("/cashflow")
+    @PreAuthorize("hasAnyRole('ADMIN', 'FAMILY')")
+    public ResponseEntity<?> getCashFlowProjection(
+            @RequestParam(defaultValue = "35") int currentAge,
+            @RequestParam(defaultValue = "30") int years,
+            @RequestParam(required = false) String currency,
+            @RequestParam(required = false) BigDecimal investShare,
+            @RequestParam(required = false) BigDecimal investRate,
+            @RequestParam(required = false) BigDecimal cashRate,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = ETags.strong("cashflow", dataVersionService.stamp(DataVersionService.Scope.values()),
+                currentAge, years, ExchangeRates.normalize(currency), investShare, investRate, cashRate, LocalDate.now());
+        try {
+            return ETags.conditional(ifNoneMatch, etag, () -> ResponseEntity.ok(cashFlowService.getCashFlowProjection(
+                    currentAge, years, currency, investShare, investRate, cashRate)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
     }
-}
 
+    /**
+     * Retirement drawdown: portfolio survival probability per withdrawal rate
+     * ({@code withdrawalRates} as comma-separated percentages)
+     */
+    @GetMapping("/retirement")
+    @PreAuthorize("hasAnyRole('ADMIN', 'FAMILY')")
+    public ResponseEntity<?> getRetirementPlan(
+            @RequestParam(defaultValue = "35") int currentAge,
+            @RequestParam(defaultValue = "" + FutureProjectionService.RETIREMENT_AGE) int retirementAge,
+            @RequestParam(defaultValue = "" + RetirementService.DEFAULT_LIFE_EXPECTANCY) int lifeExpectancy,
+            @RequestParam(required = false) String currency,
+            @RequestParam(required = false) String withdrawalRates,
+            @RequestParam(required = false) BigDecimal inflationRate,
+            @RequestParam(defaultValue = "" + RetirementService.DEFAULT_PATHS) int paths,
+            @RequestParam(defaultValue = "" + MonteCarloSimulator.DEFAULT_SEED) long seed,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        try {
+            String etag = ETags.strong("retirement", dataVersionService.stamp(DataVersionService.Scope.ASSETS,
+                            DataVersionService.Scope.INSURANCE, DataVersionService.Scope.CONFIG),
+                    currentAge, retirementAge, lifeExpectancy, ExchangeRates.normalize(currency), withdrawalRates,
+                    inflationRate, paths, seed, LocalDate.now());
+            return ETags.conditional(ifNoneMatch, etag, () -> ResponseEntity.ok(retirementService.getRetirementPlan(
+                    currentAge, retirementAge, lifeExpectancy, currency,
+                    RetirementService.parseWithdrawalRates(withdrawalRates), inflationRate, paths, seed)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    private static boolean isMonteCarlo(String mode) {
+        String normalized = mode.trim().toUpperCase();
+        if (normalized.equals(FutureProjectionService.MODE_MONTE_CARLO)) return true;
+        if (normalized.equals(FutureProjectionService.MODE_DETERMINISTIC)) return false;
+        throw new IllegalArgumentException("Unknown mode: " + mode + " (supported: DETERMINISTIC, MONTE_CARLO)");
+    }
+}
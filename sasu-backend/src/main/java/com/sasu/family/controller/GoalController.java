@@ -0,0 +1,36 @@
+package com.sasu.family.controller;
+
+import com.sasu.family.dto.GoalRequestDTO;
+import com.sasu.family.service.GoalService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+/**
+ * Goal Controller
+ *
+ * Savings goal solver: required monthly saving for a target date, or the
+ * date a target is reached with a given saving.
+ * Available to all authenticated users.
+ */
+@RestController
+@RequestMapping("/api/goals")
+@CrossOrigin(origins = "*")
+@RequiredArgsConstructor
+public class GoalController {
+
+    private final GoalService goalService;
+
+    @PostMapping("/solve")
+    @PreAuthorize("hasAnyRole('ADMIN', 'FAMILY')")
+    public ResponseEntity<?> solve(@RequestBody GoalRequestDTO request) {
+        try {
+            return ResponseEntity.ok(goalService.solve(request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+}
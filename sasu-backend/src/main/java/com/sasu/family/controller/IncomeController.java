@@ -2,8 +2,13 @@ package com.sasu.family.controller;
 
 import com.sasu.family.model.Income;
 import com.sasu.family.repository.IncomeRepository;
+import com.sasu.family.service.DataVersionService;
+import com.sasu.family.service.HouseholdAggregatesService;
+import com.sasu.family.util.ETags;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -15,45 +20,63 @@ import java.util.List;
 public class IncomeController {
 
     private final IncomeRepository incomeRepository;
+    private final HouseholdAggregatesService householdAggregatesService;
+    private final DataVersionService dataVersionService;
 
     @GetMapping
-    public ResponseEntity<List<Income>> getAllIncomes() {
-        return ResponseEntity.ok(incomeRepository.findByActiveTrue());
+    public ResponseEntity<List<Income>> getAllIncomes(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = ETags.strong("incomes", dataVersionService.stamp(DataVersionService.Scope.INCOMES));
+        return ETags.conditional(ifNoneMatch, etag, () -> ResponseEntity.ok(incomeRepository.findByActiveTrue()));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Income> getIncomeById(@PathVariable Long id) {
-        return incomeRepository.findById(id)
+    public ResponseEntity<Income> getIncomeById(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = ETags.strong("income", id, dataVersionService.stamp(DataVersionService.Scope.INCOMES));
+        return ETags.conditional(ifNoneMatch, etag, () -> incomeRepository.findById(id)
                 .map(ResponseEntity::ok)
-                .orElse(ResponseEntity.notFound().build());
+                .orElse(ResponseEntity.notFound().build()));
     }
 
     @PostMapping
+    @Transactional
     public ResponseEntity<Income> createIncome(@RequestBody Income income) {
         income.setActive(true);
         Income savedIncome = incomeRepository.save(income);
+        householdAggregatesService.include(savedIncome);
+        dataVersionService.bump(DataVersionService.Scope.INCOMES);
         return ResponseEntity.ok(savedIncome);
     }
 
     @PutMapping("/{id}")
+    @Transactional
     public ResponseEntity<Income> updateIncome(@PathVariable Long id, @RequestBody Income income) {
         return incomeRepository.findById(id)
                 .map(existingIncome -> {
+                    householdAggregatesService.exclude(existingIncome);
                     income.setId(id);
                     if (income.getActive() == null) {
                         income.setActive(existingIncome.getActive());
                     }
-                    return ResponseEntity.ok(incomeRepository.save(income));
+                    Income savedIncome = incomeRepository.save(income);
+                    householdAggregatesService.include(savedIncome);
+                    dataVersionService.bump(DataVersionService.Scope.INCOMES);
+                    return ResponseEntity.ok(savedIncome);
                 })
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @DeleteMapping("/{id}")
+    @Transactional
     public ResponseEntity<Void> deleteIncome(@PathVariable Long id) {
         return incomeRepository.findById(id)
                 .map(income -> {
+                    householdAggregatesService.exclude(income);
                     income.setActive(false);
                     incomeRepository.save(income);
+                    dataVersionService.bump(DataVersionService.Scope.INCOMES);
                     return ResponseEntity.ok().<Void>build();
                 })
                 .orElse(ResponseEntity.notFound().build());
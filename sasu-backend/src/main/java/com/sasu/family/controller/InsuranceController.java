@@ -1,8 +1,11 @@
 package com.sasu.family.controller;
 
 import com.sasu.family.model.Insurance;
+import com.sasu.family.service.DataVersionService;
 import com.sasu.family.service.InsuranceService;
+import com.sasu.family.util.ETags;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -22,17 +25,23 @@ import java.util.List;
 public class InsuranceController {
 
     private final InsuranceService insuranceService;
+    private final DataVersionService dataVersionService;
 
     @GetMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'FAMILY')")
-    public ResponseEntity<List<Insurance>> getAllInsurance() {
-        return ResponseEntity.ok(insuranceService.getAllInsurance());
+    public ResponseEntity<List<Insurance>> getAllInsurance(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = ETags.strong("insurance", dataVersionService.stamp(DataVersionService.Scope.INSURANCE));
+        return ETags.conditional(ifNoneMatch, etag, () -> ResponseEntity.ok(insuranceService.getAllInsurance()));
     }
 
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('ADMIN', 'FAMILY')")
-    public ResponseEntity<Insurance> getInsuranceById(@PathVariable Long id) {
-        return ResponseEntity.ok(insuranceService.getInsuranceById(id));
+    public ResponseEntity<Insurance> getInsuranceById(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = ETags.strong("insurance", id, dataVersionService.stamp(DataVersionService.Scope.INSURANCE));
+        return ETags.conditional(ifNoneMatch, etag, () -> ResponseEntity.ok(insuranceService.getInsuranceById(id)));
     }
 
     @PostMapping
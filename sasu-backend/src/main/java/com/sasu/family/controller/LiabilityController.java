@@ -1,12 +1,17 @@
 package com.sasu.family.controller;
 
 import com.sasu.family.model.Liability;
+import com.sasu.family.service.DataVersionService;
 import com.sasu.family.service.LiabilityService;
+import com.sasu.family.util.ETags;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 
 /**
@@ -22,17 +27,46 @@ import java.util.List;
 public class LiabilityController {
 
     private final LiabilityService liabilityService;
+    private final DataVersionService dataVersionService;
 
     @GetMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'FAMILY')")
-    public ResponseEntity<List<Liability>> getAllLiabilities() {
-        return ResponseEntity.ok(liabilityService.getAllLiabilities());
+    public ResponseEntity<List<Liability>> getAllLiabilities(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = ETags.strong("liabilities", dataVersionService.stamp(DataVersionService.Scope.LIABILITIES));
+        return ETags.conditional(ifNoneMatch, etag, () -> ResponseEntity.ok(liabilityService.getAllLiabilities()));
     }
 
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('ADMIN', 'FAMILY')")
-    public ResponseEntity<Liability> getLiabilityById(@PathVariable Long id) {
-        return ResponseEntity.ok(liabilityService.getLiabilityById(id));
+    public ResponseEntity<Liability> getLiabilityById(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = ETags.strong("liability", id, dataVersionService.stamp(DataVersionService.Scope.LIABILITIES));
+        return ETags.conditional(ifNoneMatch, etag, () -> ResponseEntity.ok(liabilityService.getLiabilityById(id)));
+    }
+
+    /**
+     * Amortization schedule with payoff date and total interest.
+     * Pages through payment numbers fromMonth .. fromMonth + months - 1.
+     */
+    @GetMapping("/{id}/schedule")
+    @PreAuthorize("hasAnyRole('ADMIN', 'FAMILY')")
+    public ResponseEntity<?> getSchedule(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "1") int fromMonth,
+            @RequestParam(defaultValue = "12") int months,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOf,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        LocalDate date = asOf != null ? asOf : LocalDate.now();
+        String etag = ETags.strong("schedule", id, dataVersionService.stamp(DataVersionService.Scope.LIABILITIES),
+                fromMonth, months, date);
+        try {
+            return ETags.conditional(ifNoneMatch, etag,
+                    () -> ResponseEntity.ok(liabilityService.getSchedule(id, fromMonth, months, date)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
 
     @PostMapping
@@ -0,0 +1,36 @@
+package com.sasu.family.controller;
+
+import com.sasu.family.service.MetricsSource;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Metrics Controller
+ *
+ * Counters of every {@link MetricsSource} (caches, limits), keyed by source.
+ * ADMIN only.
+ */
+@RestController
+@RequestMapping("/api/metrics")
+@CrossOrigin(origins = "*")
+@RequiredArgsConstructor
+public class MetricsController {
+
+    private final List<MetricsSource> sources;
+
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getMetrics() {
+        Map<String, Object> metrics = new TreeMap<>();
+        for (MetricsSource source : sources) {
+            metrics.put(source.metricsName(), source.metrics());
+        }
+        return ResponseEntity.ok(metrics);
+    }
+}
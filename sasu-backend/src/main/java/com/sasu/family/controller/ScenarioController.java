@@ -0,0 +1,36 @@
+package com.sasu.family.controller;
+
+import com.sasu.family.dto.ScenarioRequestDTO;
+import com.sasu.family.service.ScenarioService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+/**
+ * Scenario Controller
+ *
+ * What-if analysis: evaluates the dashboard score and future projections
+ * for hypothetical edits without changing any stored data.
+ * Available to all authenticated users.
+ */
+@RestController
+@RequestMapping("/api/scenarios")
+@CrossOrigin(origins = "*")
+@RequiredArgsConstructor
+public class ScenarioController {
+
+    private final ScenarioService scenarioService;
+
+    @PostMapping
+    @PreAuthorize("hasAnyRole('ADMIN', 'FAMILY')")
+    public ResponseEntity<?> evaluate(@RequestBody ScenarioRequestDTO request) {
+        try {
+            return ResponseEntity.ok(scenarioService.evaluate(request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.sasu.family.controller;
+
+import com.sasu.family.dto.StressTestRequestDTO;
+import com.sasu.family.service.StressTestService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+/**
+ * Stress Test Controller
+ *
+ * Rescores the household under rate, income, market and currency shocks
+ * without changing any stored data. An empty body runs the standard set.
+ * Available to all authenticated users.
+ */
+@RestController
+@RequestMapping("/api/stress-tests")
+@CrossOrigin(origins = "*")
+@RequiredArgsConstructor
+public class StressTestController {
+
+    private final StressTestService stressTestService;
+
+    @PostMapping
+    @PreAuthorize("hasAnyRole('ADMIN', 'FAMILY')")
+    public ResponseEntity<?> run(@RequestBody(required = false) StressTestRequestDTO request) {
+        try {
+            return ResponseEntity.ok(stressTestService.run(request != null ? request : new StressTestRequestDTO()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.sasu.family.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Amortization Schedule DTO
+ *
+ * Payoff summary of a liability plus one page of its monthly schedule.
+ *
+ * totalMonths, payoffDate and totalInterest are null when the monthly
+ * payment does not cover the interest (the loan never pays off).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AmortizationScheduleDTO {
+
+    private Long liabilityId;
+    private String liabilityName;
+
+    // Summary
+    private BigDecimal originalAmount;
+    private BigDecimal monthlyPayment;
+    private BigDecimal interestRate;
+    private LocalDate startDate;
+    private Integer totalMonths;
+    private Integer monthsPaid;
+    private Integer monthsRemaining;
+    private BigDecimal currentBalance;
+    private LocalDate payoffDate;
+    private BigDecimal totalInterest;
+    private Boolean fullyPaid;
+
+    // Requested page (1-based payment numbers, inclusive)
+    private Integer fromMonth;
+    private Integer toMonth;
+    private List<ScheduleRow> rows;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ScheduleRow {
+        private Integer month;
+        private LocalDate date;
+        private BigDecimal payment;
+        private BigDecimal interest;
+        private BigDecimal principal;
+        private BigDecimal balance;
+    }
+}
@@ -0,0 +1,56 @@
+package com.sasu.family.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Cash Flow Projection DTO
+ *
+ * Year-by-year result of the monthly household cash-flow simulation:
+ * flows are totals over each year, balances are at its end.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CashFlowProjectionDTO {
+
+    private String currency;
+    private Integer years;
+
+    // Surplus rule applied (percent)
+    private BigDecimal investShare;
+    private BigDecimal investRate;
+    private BigDecimal cashRate;
+
+    private Integer debtFreeYear;           // First year ending without liabilities, null if none
+    private Integer firstDeficitYear;       // First year with a negative net cash flow, null if none
+    private List<YearlyCashFlow> projections;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class YearlyCashFlow {
+        private Integer year;
+        private Integer age;
+
+        private BigDecimal income;
+        private BigDecimal expenses;
+        private BigDecimal premiums;
+        private BigDecimal loanPayments;
+        private BigDecimal maturities;
+        private BigDecimal netCashFlow;
+
+        private BigDecimal cash;
+        private BigDecimal invested;
+        private BigDecimal assetValue;      // Existing assets, grown
+        private BigDecimal liabilities;
+        private BigDecimal netWorth;
+    }
+}
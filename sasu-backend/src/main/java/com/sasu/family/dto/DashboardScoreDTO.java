@@ -0,0 +1,24 @@
+package com.sasu.family.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Dashboard Score DTO
+ *
+ * Wealth health score with its 6-pillar breakdown ("score" section).
+ */
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class DashboardScoreDTO {
+
+    private Integer wealthHealthScore;      // 0-100
+    private String wealthHealthLabel;       // Poor, Stable, Strong, Excellent
+    private String futureReadinessStatus;   // Ready, Needs Attention, etc.
+    private String motivationalMessage;
+    private ScoreBreakdownDTO scoreBreakdown;
+}
@@ -0,0 +1,38 @@
+package com.sasu.family.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * Dashboard Sections DTO
+ *
+ * Selected parts of the dashboard, keyed by section name
+ * (totals, score, assets, liabilities, burden).
+ *
+ * Each section carries its own ETag, which changes only when
+ * the data behind that section changes.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DashboardSectionsDTO {
+
+    private String currency;
+    private LocalDate asOf;
+    private Map<String, Section> sections;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Section {
+        private String etag;
+        private Object data;
+    }
+}
@@ -22,11 +22,14 @@ import java.util.List;
  * - Department-wise summaries
  */
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class DashboardSummaryDTO {
 
+    // Currency of every amount below (LKR unless another reporting currency was requested)
+    private String currency;
+
     // Overall metrics
     private BigDecimal totalAssets;
     private BigDecimal totalLiabilities;
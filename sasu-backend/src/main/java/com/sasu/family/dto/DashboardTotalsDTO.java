@@ -0,0 +1,29 @@
+package com.sasu.family.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Dashboard Totals DTO
+ *
+ * Headline numbers of the dashboard ("totals" section).
+ */
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class DashboardTotalsDTO {
+
+    private BigDecimal totalAssets;
+    private BigDecimal totalLiabilities;
+    private BigDecimal netWorth;
+    private BigDecimal totalInsuranceCoverage;
+    private BigDecimal totalMonthlyBurden;
+    private BigDecimal monthlyIncome;
+    private BigDecimal monthlyExpenses;
+    private Integer totalInsurancePolicies;
+}
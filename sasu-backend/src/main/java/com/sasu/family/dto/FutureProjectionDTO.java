@@ -24,6 +24,12 @@ import java.util.List;
 @AllArgsConstructor
 public class FutureProjectionDTO {
 
+    private String currency;
+    private String resolution;      // FIVE_YEARLY, YEARLY or MONTHLY
+    private Integer horizonYears;
+    private String mode;            // DETERMINISTIC or MONTE_CARLO
+    private Integer paths;          // Monte Carlo only
+    private Long seed;              // Monte Carlo only
     private List<YearlyProjection> projections;
     private BigDecimal totalFutureBenefits;
     private String summary;
@@ -34,11 +40,17 @@ public class FutureProjectionDTO {
     @AllArgsConstructor
     public static class YearlyProjection {
         private Integer year;
+        private Integer month;          // Only at MONTHLY resolution
         private Integer age;
         private BigDecimal insuranceMaturity;
         private BigDecimal assetValue;
         private BigDecimal totalValue;
         private String milestone;
+
+        // Monte Carlo bands of totalValue; assetValue and totalValue are then the medians
+        private BigDecimal p10;
+        private BigDecimal p50;
+        private BigDecimal p90;
     }
 }
 
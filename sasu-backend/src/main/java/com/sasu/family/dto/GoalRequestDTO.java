@@ -0,0 +1,40 @@
+package com.sasu.family.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Goal Request DTO
+ *
+ * A savings goal: a target amount plus either a target date (solve for the
+ * monthly saving) or a monthly saving (solve for the date).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GoalRequestDTO {
+
+    private String name;
+    private BigDecimal targetAmount;            // In today's money when inflationRate is set
+    private String currency;                    // Of targetAmount and the results (default LKR)
+
+    private LocalDate targetDate;               // Either this...
+    private BigDecimal monthlyContribution;     // ...or this
+
+    private AssetScope includeAssets;           // Assets counted towards the goal (default ALL)
+    private BigDecimal contributionGrowthRate;  // Yearly % earned on savings (default: weighted rate of the counted assets)
+    private BigDecimal inflationRate;           // Yearly % the target grows by (default 0)
+
+    public enum AssetScope {
+        ALL,
+        INVESTMENTS,
+        LIQUID,
+        NONE
+    }
+}
@@ -0,0 +1,42 @@
+package com.sasu.family.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Goal Result DTO
+ *
+ * Solved goal: the monthly saving needed by the target date, or the date the
+ * target is reached with the given saving. targetDate and monthsToTarget are
+ * null when the target is not reached within the 100-year horizon.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GoalResultDTO {
+
+    private String name;
+    private String currency;
+    private String solvedFor;                   // MONTHLY_CONTRIBUTION or TARGET_DATE
+
+    private BigDecimal targetAmount;            // Nominal, at the target date
+    private BigDecimal monthlyContribution;     // Given or solved
+    private LocalDate targetDate;               // Given or solved
+    private Integer monthsToTarget;
+
+    private BigDecimal projectedAssets;         // Counted assets at the target date
+    private BigDecimal projectedMaturities;     // Maturity benefits received by then, reinvested
+    private BigDecimal projectedSavings;        // Monthly savings by then, with growth
+    private BigDecimal projectedTotal;
+
+    private BigDecimal contributionGrowthRate;
+    private Boolean alreadyReached;             // Met without any further saving
+    private Boolean reachable;
+    private Integer iterations;
+}
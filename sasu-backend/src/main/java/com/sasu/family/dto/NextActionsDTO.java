@@ -0,0 +1,44 @@
+package com.sasu.family.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Next Actions DTO
+ *
+ * Controllable actions ranked by wealth health score gained per amount
+ * spent, each at the amount that gives the most points per rupee.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NextActionsDTO {
+
+    private String currency;
+    private Integer currentScore;
+    private Integer evaluations;        // Score evaluations behind the ranking
+    private List<Action> actions;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Action {
+        private String type;            // PAY_DOWN_LIABILITY, MOVE_TO_LIQUID, ADD_LIFE_POLICY, ADD_MEDICAL_POLICY, CUT_EXPENSES
+        private String target;          // Liability name, or what the amount applies to
+        private String description;
+        private BigDecimal amount;      // Payment, amount moved, cover, or monthly cut
+        private BigDecimal cost;        // Amount spent: payment, amount moved, yearly premium, or one year of the cut
+        private Integer scoreGain;
+        private Integer newScore;
+        private BigDecimal gainPerMillion;  // Score points per 1,000,000 of cost
+        private Integer maxScoreGain;       // Largest gain this action reaches
+        private BigDecimal maxGainAmount;   // Smallest amount reaching it
+    }
+}
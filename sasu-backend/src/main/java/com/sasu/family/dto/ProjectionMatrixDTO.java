@@ -0,0 +1,59 @@
+package com.sasu.family.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Projection Matrix DTO
+ *
+ * Projected total value (assets plus maturities) per cell of the grid,
+ * nominal and in today's money. The series of every cell are aligned
+ * with {@code years} and {@code ages}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProjectionMatrixDTO {
+
+    private String currency;
+    private Integer currentAge;
+    private String resolution;
+    private Integer horizonYears;
+
+    private List<BigDecimal> rateAdjustments;
+    private List<BigDecimal> inflationRates;
+    private List<Integer> retirementAges;
+
+    private List<Integer> years;
+    private List<Integer> ages;
+    private List<Cell> cells;           // Ordered by rate adjustment, then inflation rate
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Cell {
+        private BigDecimal rateAdjustment;
+        private BigDecimal inflationRate;
+        private List<BigDecimal> nominal;
+        private List<BigDecimal> real;
+        private List<RetirementValue> atRetirement;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RetirementValue {
+        private Integer retirementAge;
+        private Integer year;
+        private BigDecimal nominal;
+        private BigDecimal real;
+    }
+}
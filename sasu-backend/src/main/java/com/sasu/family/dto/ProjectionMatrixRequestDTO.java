@@ -0,0 +1,31 @@
+package com.sasu.family.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Projection Matrix Request DTO
+ *
+ * Grids for a sensitivity table of the deterministic projections: one
+ * cell per (growth-rate adjustment, inflation rate) pair.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProjectionMatrixRequestDTO {
+
+    private Integer currentAge;                 // Default 35
+    private String currency;                    // Default LKR
+    private String resolution;                  // YEARLY or FIVE_YEARLY (default)
+    private Integer horizonYears;               // Default 30
+
+    private List<BigDecimal> rateAdjustments;   // Percentage points added to each growth rate (default [0])
+    private List<BigDecimal> inflationRates;    // Yearly % used to deflate values (default: configured rate)
+    private List<Integer> retirementAges;       // Ages to read the values at (default [60])
+}
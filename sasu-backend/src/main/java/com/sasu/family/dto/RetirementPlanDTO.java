@@ -0,0 +1,58 @@
+package com.sasu.family.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Retirement Plan DTO
+ *
+ * Portfolio survival from the retirement age to the end of the horizon
+ * for each withdrawal rate of the grid. Amounts are nominal.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RetirementPlanDTO {
+
+    private String currency;
+    private Integer currentAge;
+    private Integer retirementAge;
+    private Integer lifeExpectancy;
+    private Integer retirementYear;
+    private BigDecimal inflationRate;       // Yearly indexation of withdrawals (percent)
+    private Integer paths;
+    private Long seed;
+
+    // Retirement portfolio: liquid and investment assets, EPF and retirement funds
+    private BigDecimal portfolioToday;
+    private BigDecimal portfolioAtRetirementP10;
+    private BigDecimal portfolioAtRetirementP50;
+    private BigDecimal portfolioAtRetirementP90;
+    private BigDecimal maturitiesBeforeRetirement;  // Reinvested into the portfolio
+    private BigDecimal maturitiesInRetirement;      // Added in the year they fall due
+
+    private BigDecimal survivalTarget;              // Percent
+    private BigDecimal sustainableWithdrawalRate;   // Highest rate meeting the target, null if none
+    private List<WithdrawalOutcome> results;
+    private String summary;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class WithdrawalOutcome {
+        private BigDecimal withdrawalRate;          // Percent of the portfolio at retirement
+        private BigDecimal survivalProbability;     // Percent of paths lasting to lifeExpectancy
+        private BigDecimal initialWithdrawal;       // Median first-year withdrawal
+        private BigDecimal initialMonthlyWithdrawal;
+        private BigDecimal medianEndingBalance;
+        private BigDecimal p10EndingBalance;
+        private Integer medianDepletionAge;         // Among failing paths, null if none failed
+    }
+}
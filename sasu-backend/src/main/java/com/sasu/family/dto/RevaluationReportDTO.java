@@ -0,0 +1,34 @@
+package com.sasu.family.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Revaluation Report DTO
+ *
+ * Outcome of one run of the batch revaluation job.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevaluationReportDTO {
+
+    private String trigger;             // SCHEDULED or MANUAL
+    private LocalDate asOf;
+    private LocalDateTime startedAt;
+    private long durationMs;
+
+    private int assetsScanned;
+    private int assetsChanged;
+    private int liabilitiesScanned;
+    private int liabilitiesChanged;
+
+    private int chunks;                 // Short transactions committed
+    private int yields;                 // Pauses taken for waiting foreground requests
+}
@@ -0,0 +1,68 @@
+package com.sasu.family.dto;
+
+import com.sasu.family.model.Asset;
+import com.sasu.family.model.Expense;
+import com.sasu.family.model.Insurance;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Scenario Request DTO
+ *
+ * One or more what-if scenarios, each a list of hypothetical edits applied
+ * on top of the current household data. Nothing is written.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScenarioRequestDTO {
+
+    private String currency;        // Reporting currency (default LKR)
+    private Integer currentAge;     // For projections (default 35)
+    private Integer horizonYears;   // For projections (default 30)
+    private List<Scenario> scenarios;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Scenario {
+        private String name;
+        private List<Edit> edits;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Edit {
+        private EditType type;
+
+        // PAY_OFF_LIABILITY: amount is the prepayment (default: the whole balance),
+        // optionally drawn from fromAssetId
+        private Long liabilityId;
+        private Long fromAssetId;
+
+        // CHANGE_EXPENSE: new amount (0 drops the expense), optionally a new frequency
+        private Long expenseId;
+        private Expense.Frequency frequency;
+
+        private BigDecimal amount;
+
+        private Asset asset;            // ADD_ASSET
+        private Insurance policy;       // ADD_POLICY
+    }
+
+    public enum EditType {
+        PAY_OFF_LIABILITY,
+        ADD_ASSET,
+        CHANGE_EXPENSE,
+        ADD_POLICY
+    }
+}
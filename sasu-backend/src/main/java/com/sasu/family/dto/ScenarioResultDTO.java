@@ -0,0 +1,44 @@
+package com.sasu.family.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Scenario Result DTO
+ *
+ * Dashboard summary and projections of the current data (baseline) and of
+ * each what-if scenario, with the headline changes against the baseline.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScenarioResultDTO {
+
+    private String currency;
+    private LocalDate asOf;
+    private Outcome baseline;
+    private List<Outcome> scenarios;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Outcome {
+        private String name;
+        private DashboardSummaryDTO summary;
+        private FutureProjectionDTO projections;
+
+        // Against the baseline (zero for the baseline itself)
+        private Integer scoreChange;
+        private BigDecimal netWorthChange;
+        private BigDecimal freeCashFlowChange;      // Monthly income - expenses - loan EMIs
+        private BigDecimal totalFutureBenefitsChange;
+    }
+}
@@ -19,7 +19,7 @@ import java.math.BigDecimal;
  * 6. Protection & Risk Coverage (10%)
  */
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class ScoreBreakdownDTO {
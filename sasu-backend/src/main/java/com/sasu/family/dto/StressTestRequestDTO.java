@@ -0,0 +1,39 @@
+package com.sasu.family.dto;
+
+import com.sasu.family.model.Asset;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Stress Test Request DTO
+ *
+ * Shocks applied to today's household data. Without shocks a standard
+ * set is evaluated (rate rises, income cuts, market falls, currency move).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StressTestRequestDTO {
+
+    private String currency;            // Reporting currency of the amounts (default LKR)
+    private List<Shock> shocks;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Shock {
+        private String name;
+        private BigDecimal loanRateChange;                  // Percentage points added to every interest-bearing loan
+        private BigDecimal incomeChange;                    // Percent, e.g. -20
+        private Map<Asset.AssetType, BigDecimal> assetChanges;  // Percent per asset type, e.g. SHARES: -30
+        private Map<String, BigDecimal> fxChanges;          // Percent change of a currency's rate to LKR, e.g. USD: -15
+    }
+}
@@ -0,0 +1,55 @@
+package com.sasu.family.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Stress Test Result DTO
+ *
+ * One row per shock with the wealth health score, the six pillar scores,
+ * debt-to-income and liquidity, each next to its change from the baseline.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StressTestResultDTO {
+
+    private String currency;
+    private LocalDate asOf;
+    private Row baseline;
+    private List<Row> shocks;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Row {
+        private String name;
+
+        private Integer wealthHealthScore;
+        private Integer scoreChange;
+        private String wealthHealthLabel;
+        private Map<String, Integer> pillarScores;      // netWorth, cashFlow, debt, liquidity, investment, protection
+        private Map<String, Integer> pillarChanges;
+
+        private BigDecimal netWorth;
+        private BigDecimal netWorthChange;
+        private BigDecimal monthlySurplus;
+        private BigDecimal monthlySurplusChange;
+        private BigDecimal debtToIncomeRatio;           // Percent
+        private BigDecimal debtToIncomeChange;
+        private BigDecimal emergencyFundMonths;
+        private BigDecimal emergencyFundMonthsChange;
+
+        private List<String> statusChanges;             // e.g. "Debt: Good -> Critical"
+        private List<String> newlyCritical;             // Pillars (or "Overall") that turn Critical under the shock
+    }
+}
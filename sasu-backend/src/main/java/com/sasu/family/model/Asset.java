@@ -1,5 +1,6 @@
 package com.sasu.family.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -30,7 +31,7 @@ import java.time.LocalDate;
 @Entity
 @Table(name = "assets")
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class Asset {
@@ -99,6 +100,15 @@ public class Asset {
     @Builder.Default
     private Boolean autoGrowth = false;
 
+    /**
+     * Value auto-growth compounds from when no purchase value was entered:
+     * the entered current value, kept here once the revaluation job starts
+     * overwriting current_value. Internal, never sent to or read from clients.
+     */
+    @JsonIgnore
+    @Column(name = "valuation_base_value", precision = 15, scale = 2)
+    private BigDecimal valuationBaseValue;
+
     /**
      * Currency of the asset value (LKR or USD)
      * Used for multi-currency support
@@ -12,7 +12,7 @@ import java.time.LocalDate;
 @Entity
 @Table(name = "expenses")
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class Expense {
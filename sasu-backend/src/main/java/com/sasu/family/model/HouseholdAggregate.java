@@ -0,0 +1,274 @@
+package com.sasu.family.model;
+
+import jakarta.persistence.*;
+import com.sasu.family.util.ExchangeRates;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+
+/**
+ * Household Aggregate Model
+ *
+ * Running totals of the active household records, one row per currency.
+ *
+ * Maintained incrementally on every write so the dashboard can read a
+ * handful of rows instead of scanning every table.
+ *
+ * Liabilities, insurance, incomes and expenses carry no currency of their
+ * own and are always counted in the base (LKR) row.
+ */
+@Entity
+@Table(name = "household_aggregates")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HouseholdAggregate {
+
+    public static final String BASE_CURRENCY = ExchangeRates.BASE_CURRENCY;
+
+    @Id
+    @Column(length = 3)
+    private String currency;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    @Builder.Default
+    private BigDecimal totalAssets = BigDecimal.ZERO;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    @Builder.Default
+    private BigDecimal liquidAssets = BigDecimal.ZERO;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    @Builder.Default
+    private BigDecimal totalInvestments = BigDecimal.ZERO;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    @Builder.Default
+    private BigDecimal totalLiabilities = BigDecimal.ZERO;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    @Builder.Default
+    private BigDecimal monthlyBurden = BigDecimal.ZERO;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    @Builder.Default
+    private BigDecimal monthlyIncome = BigDecimal.ZERO;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    @Builder.Default
+    private BigDecimal monthlyExpenses = BigDecimal.ZERO;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    @Builder.Default
+    private BigDecimal monthlyEssentialExpenses = BigDecimal.ZERO;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    @Builder.Default
+    private BigDecimal totalCoverage = BigDecimal.ZERO;
+
+    // Policy counts per InsuranceType (counts rather than flags so removals can be applied)
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer policyCount = 0;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer lifePolicies = 0;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer medicalPolicies = 0;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer educationPolicies = 0;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer vehiclePolicies = 0;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer homePolicies = 0;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer otherPolicies = 0;
+
+    private LocalDateTime lastUpdated;
+
+    public static HouseholdAggregate empty(String currency) {
+        return HouseholdAggregate.builder().currency(currency).build();
+    }
+
+    public static String currencyOf(Asset asset) {
+        return ExchangeRates.normalize(asset.getCurrency());
+    }
+
+    /**
+     * Add (sign = 1) or remove (sign = -1) an asset's contribution
+     */
+    public void apply(Asset asset, int sign) {
+        BigDecimal value = signed(asset.getCurrentValue(), sign);
+        totalAssets = add(totalAssets, value);
+        if (Boolean.TRUE.equals(asset.getIsLiquid())) {
+            liquidAssets = add(liquidAssets, value);
+        }
+        if (Boolean.TRUE.equals(asset.getIsInvestment())) {
+            totalInvestments = add(totalInvestments, value);
+        }
+    }
+
+    /**
+     * Add (sign = 1) or remove (sign = -1) a liability's contribution. An
+     * auto-calculated loan whose stored balance has reached zero is paid off
+     * and no longer adds its monthly payment, matching the dashboard; the
+     * entered payment itself stays on the record for its schedule.
+     */
+    public void apply(Liability liability, int sign) {
+        totalLiabilities = add(totalLiabilities, signed(liability.getRemainingAmount(), sign));
+        if (!isPaidOff(liability)) {
+            monthlyBurden = add(monthlyBurden, signed(liability.getMonthlyPayment(), sign));
+        }
+    }
+
+    public void apply(Insurance insurance, int sign) {
+        totalCoverage = add(totalCoverage, signed(insurance.getCoverageAmount(), sign));
+        policyCount += sign;
+        switch (insurance.getType()) {
+            case LIFE -> lifePolicies += sign;
+            case MEDICAL -> medicalPolicies += sign;
+            case EDUCATION -> educationPolicies += sign;
+            case VEHICLE -> vehiclePolicies += sign;
+            case HOME -> homePolicies += sign;
+            default -> otherPolicies += sign;
+        }
+    }
+
+    public void apply(Income income, int sign) {
+        monthlyIncome = add(monthlyIncome, signed(income.getMonthlyAmount(), sign));
+    }
+
+    public void apply(Expense expense, int sign) {
+        BigDecimal monthly = signed(expense.getMonthlyAmount(), sign);
+        monthlyExpenses = add(monthlyExpenses, monthly);
+        if (expense.isNeed()) {
+            monthlyEssentialExpenses = add(monthlyEssentialExpenses, monthly);
+        }
+    }
+
+    /**
+     * Fold another row into this one (used to combine currency rows)
+     */
+    public void merge(HouseholdAggregate other) {
+        merge(other, BigDecimal.ONE);
+    }
+
+    /**
+     * Fold another row into this one, converting its amounts at the given rate
+     */
+    public void merge(HouseholdAggregate other, BigDecimal rate) {
+        totalAssets = add(totalAssets, converted(other.totalAssets, rate));
+        liquidAssets = add(liquidAssets, converted(other.liquidAssets, rate));
+        totalInvestments = add(totalInvestments, converted(other.totalInvestments, rate));
+        totalLiabilities = add(totalLiabilities, converted(other.totalLiabilities, rate));
+        monthlyBurden = add(monthlyBurden, converted(other.monthlyBurden, rate));
+        monthlyIncome = add(monthlyIncome, converted(other.monthlyIncome, rate));
+        monthlyExpenses = add(monthlyExpenses, converted(other.monthlyExpenses, rate));
+        monthlyEssentialExpenses = add(monthlyEssentialExpenses, converted(other.monthlyEssentialExpenses, rate));
+        totalCoverage = add(totalCoverage, converted(other.totalCoverage, rate));
+        policyCount += other.policyCount;
+        lifePolicies += other.lifePolicies;
+        medicalPolicies += other.medicalPolicies;
+        educationPolicies += other.educationPolicies;
+        vehiclePolicies += other.vehiclePolicies;
+        homePolicies += other.homePolicies;
+        otherPolicies += other.otherPolicies;
+    }
+
+    public int getPolicyCount(Insurance.InsuranceType type) {
+        return switch (type) {
+            case LIFE -> lifePolicies;
+            case MEDICAL -> medicalPolicies;
+            case EDUCATION -> educationPolicies;
+            case VEHICLE -> vehiclePolicies;
+            case HOME -> homePolicies;
+            default -> otherPolicies;
+        };
+    }
+
+    public boolean hasPolicyType(Insurance.InsuranceType type) {
+        return getPolicyCount(type) > 0;
+    }
+
+    /**
+     * Value comparison (BigDecimal scale and lastUpdated are ignored)
+     */
+    public boolean sameTotals(HouseholdAggregate other) {
+        return totalAssets.compareTo(other.totalAssets) == 0
+                && liquidAssets.compareTo(other.liquidAssets) == 0
+                && totalInvestments.compareTo(other.totalInvestments) == 0
+                && totalLiabilities.compareTo(other.totalLiabilities) == 0
+                && monthlyBurden.compareTo(other.monthlyBurden) == 0
+                && monthlyIncome.compareTo(other.monthlyIncome) == 0
+                && monthlyExpenses.compareTo(other.monthlyExpenses) == 0
+                && monthlyEssentialExpenses.compareTo(other.monthlyEssentialExpenses) == 0
+                && totalCoverage.compareTo(other.totalCoverage) == 0
+                && policyCount.equals(other.policyCount)
+                && lifePolicies.equals(other.lifePolicies)
+                && medicalPolicies.equals(other.medicalPolicies)
+                && educationPolicies.equals(other.educationPolicies)
+                && vehiclePolicies.equals(other.vehiclePolicies)
+                && homePolicies.equals(other.homePolicies)
+                && otherPolicies.equals(other.otherPolicies);
+    }
+
+    /**
+     * Copy every total from another row, keeping this row's currency
+     */
+    public void copyTotalsFrom(HouseholdAggregate other) {
+        totalAssets = other.totalAssets;
+        liquidAssets = other.liquidAssets;
+        totalInvestments = other.totalInvestments;
+        totalLiabilities = other.totalLiabilities;
+        monthlyBurden = other.monthlyBurden;
+        monthlyIncome = other.monthlyIncome;
+        monthlyExpenses = other.monthlyExpenses;
+        monthlyEssentialExpenses = other.monthlyEssentialExpenses;
+        totalCoverage = other.totalCoverage;
+        policyCount = other.policyCount;
+        lifePolicies = other.lifePolicies;
+        medicalPolicies = other.medicalPolicies;
+        educationPolicies = other.educationPolicies;
+        vehiclePolicies = other.vehiclePolicies;
+        homePolicies = other.homePolicies;
+        otherPolicies = other.otherPolicies;
+    }
+
+    private static BigDecimal converted(BigDecimal value, BigDecimal rate) {
+        if (value == null) return BigDecimal.ZERO;
+        return rate.compareTo(BigDecimal.ONE) == 0 ? value : value.multiply(rate);
+    }
+
+    private static boolean isPaidOff(Liability liability) {
+        return Boolean.TRUE.equals(liability.getAutoCalculate())
+                && liability.getRemainingAmount() != null && liability.getRemainingAmount().signum() <= 0;
+    }
+
+    private static BigDecimal signed(BigDecimal value, int sign) {
+        if (value == null) return BigDecimal.ZERO;
+        return sign < 0 ? value.negate() : value;
+    }
+
+    // Keep cents exact even if SQLite hands the column back as a REAL
+    private static BigDecimal add(BigDecimal total, BigDecimal delta) {
+        BigDecimal base = total != null ? total : BigDecimal.ZERO;
+        return base.add(delta).setScale(2, RoundingMode.HALF_UP);
+    }
+}
@@ -12,7 +12,7 @@ import java.time.LocalDate;
 @Entity
 @Table(name = "incomes")
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class Income {
@@ -30,7 +30,7 @@ import java.time.LocalDate;
 @Entity
 @Table(name = "liabilities")
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class Liability {
@@ -1,5 +1,6 @@
 package com.sasu.family.model;
 
+import com.sasu.family.security.UserSecurityListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -14,9 +15,14 @@ import lombok.NoArgsConstructor;
  * Roles:
  * - ADMIN: Father/Husband (full CRUD access)
  * - FAMILY: Wife, Daughter (read-only access)
+ *
+ * securityVersion is stamped when the user is created and bumped whenever
+ * the role, active flag or password changes. Tokens carry the version they
+ * were issued under and stop working once it moves.
  */
 @Entity
 @Table(name = "users")
+@EntityListeners(UserSecurityListener.class)
 @Data
 @Builder
 @NoArgsConstructor
@@ -44,6 +50,42 @@ public class User {
     @Column(unique = true, nullable = false)
     private String username;
 
+    @Column(name = "security_version")
+    private Long securityVersion;
+
+    public void setActive(Boolean active) {
+        if (this.active != null && !this.active.equals(active)) bumpSecurityVersion();
+        this.active = active;
+    }
+
+    public void setPassword(String password) {
+        if (this.password != null && !this.password.equals(password)) bumpSecurityVersion();
+        this.password = password;
+    }
+
+    public void setRole(UserRole role) {
+        if (this.role != null && this.role != role) bumpSecurityVersion();
+        this.role = role;
+    }
+
+    /**
+     * Version the user's tokens must carry (rows from before versioning count as 0)
+     */
+    public long currentSecurityVersion() {
+        return securityVersion != null ? securityVersion : 0L;
+    }
+
+    /**
+     * Move the version past every earlier one, including a deleted user of the same name
+     */
+    public void bumpSecurityVersion() {
+        securityVersion = Math.max(currentSecurityVersion() + 1, System.currentTimeMillis());
+    }
+
+    @PrePersist
+    void stampSecurityVersion() {
+        if (securityVersion == null) bumpSecurityVersion();
+    }
 
     public enum UserRole {
         ADMIN,    // Full access
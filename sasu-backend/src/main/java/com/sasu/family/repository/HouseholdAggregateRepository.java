@@ -0,0 +1,9 @@
+package com.sasu.family.repository;
+
+import com.sasu.family.model.HouseholdAggregate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface HouseholdAggregateRepository extends JpaRepository<HouseholdAggregate, String> {
+}
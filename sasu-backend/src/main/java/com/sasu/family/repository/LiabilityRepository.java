@@ -12,7 +12,9 @@ import java.util.List;
 public interface LiabilityRepository extends JpaRepository<Liability, Long> {
     List<Liability> findByActiveTrue();
     List<Liability> findByTypeAndActiveTrue(Liability.LiabilityType type);
+    List<Liability> findByActiveTrueAndAutoCalculateTrue();
 
+    // Liabilities are recorded in the base currency, so plain sums are safe
     @Query("SELECT COALESCE(SUM(l.remainingAmount), 0) FROM Liability l WHERE l.active = true")
     BigDecimal getTotalLiabilities();
 
@@ -2,6 +2,8 @@ package com.sasu.family.security;
 
 import com.sasu.family.model.User;
 import com.sasu.family.repository.UserRepository;
+import com.sasu.family.service.MetricsSource;
+import com.sasu.family.util.LruCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -10,21 +12,82 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 import java.util.Collections;
+import java.util.Map;
 
+/**
+ * Custom User Details Service
+ *
+ * {@link #loadUserByUsername} always reads the users table (login checks
+ * the password against it). Authenticated requests resolve their
+ * principal through {@link #loadPrincipal}, which is cached by username
+ * together with the user's security version, without the password hash.
+ *
+ * The cache is dropped per user by {@link UserSecurityListener} on every
+ * write; entries also expire after a few minutes so edits made outside
+ * the application are picked up.
+ */
 @Service
 @RequiredArgsConstructor
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, MetricsSource {
+
+    private static final int PRINCIPAL_CACHE_SIZE = 256;
+    private static final long PRINCIPAL_MAX_AGE_MILLIS = 5 * 60 * 1000;
 
     private final UserRepository userRepository;
+    private final LruCache<String, CachedPrincipal> principals = new LruCache<>(PRINCIPAL_CACHE_SIZE);
+
+    private record CachedPrincipal(UserDetails details, long securityVersion, long loadedAtMillis) {
+    }
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        User user = userRepository.findByUsername(username)
+        User user = findUser(username);
+        return details(user, user.getPassword());
+    }
+
+    /**
+     * Principal of a token issued under the given security version, or null
+     * when the user's version has moved on since (role, status or password changed)
+     */
+    public UserDetails loadPrincipal(String username, long tokenVersion) throws UsernameNotFoundException {
+        CachedPrincipal cached = principals.computeIfAbsent(username, this::load);
+        // A newer token than the cached entry, or an old entry: the cache is stale
+        if (cached.securityVersion() < tokenVersion
+                || System.currentTimeMillis() - cached.loadedAtMillis() > PRINCIPAL_MAX_AGE_MILLIS) {
+            cached = load(username);
+            principals.put(username, cached);
+        }
+        return cached.securityVersion() == tokenVersion ? cached.details() : null;
+    }
+
+    public void evict(String username) {
+        principals.remove(username);
+    }
+
+    @Override
+    public String metricsName() {
+        return "principalCache";
+    }
+
+    @Override
+    public Map<String, Object> metrics() {
+        return principals.stats();
+    }
+
+    private CachedPrincipal load(String username) {
+        User user = findUser(username);
+        return new CachedPrincipal(details(user, ""), user.currentSecurityVersion(), System.currentTimeMillis());
+    }
+
+    private User findUser(String username) {
+        return userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
+    }
 
+    private static UserDetails details(User user, String password) {
         return new org.springframework.security.core.userdetails.User(
                 user.getUsername(),
-                user.getPassword(),
+                password,
                 user.getActive(),
                 true,
                 true,
@@ -33,4 +96,3 @@ public class CustomUserDetailsService implements UserDetailsService {
         );
     }
 }
-
@@ -20,24 +20,30 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
     private final CustomUserDetailsService userDetailsService;
+    private final TokenRevocationService tokenRevocationService;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
 
         String authHeader = request.getHeader("Authorization");
-        String token = null;
-        String username = null;
+        VerifiedToken token = null;
 
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            token = authHeader.substring(7);
-            username = jwtUtil.extractUsername(token);
+            // One parse (or a cache hit) yields subject, role and expiry together
+            token = jwtUtil.verify(authHeader.substring(7));
         }
 
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+        // In-memory Bloom filter check; logged-out tokens stay unauthenticated
+        if (token != null && token.tokenId() != null && tokenRevocationService.isRevoked(token.tokenId())) {
+            token = null;
+        }
+
+        if (token != null && token.username() != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            // Cached per user; null once the user's security version has moved past the token's
+            UserDetails userDetails = userDetailsService.loadPrincipal(token.username(), token.securityVersion());
 
-            if (jwtUtil.validateToken(token, userDetails.getUsername())) {
+            if (userDetails != null && userDetails.isEnabled() && jwtUtil.validateToken(token, userDetails.getUsername())) {
                 UsernamePasswordAuthenticationToken authToken =
                         new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
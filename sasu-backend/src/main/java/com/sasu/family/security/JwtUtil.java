@@ -1,6 +1,9 @@
 package com.sasu.family.security;
 
+import com.sasu.family.service.MetricsSource;
+import com.sasu.family.util.LruCache;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -8,18 +11,34 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import jakarta.annotation.PostConstruct;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
 import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
-
+import java.util.UUID;
+
+/**
+ * JWT Util
+ *
+ * Issues and verifies HS256 tokens. Verification goes through one shared
+ * parser (thread-safe once built) and reads all claims in a single parse.
+ * Verified tokens are cached by SHA-256 digest of the token, so repeat
+ * requests with the same token skip signature verification; a cached
+ * token is still rejected once it expires. Only valid tokens are cached.
+ */
 @Component
-public class JwtUtil {
+public class JwtUtil implements MetricsSource {
+
+    private static final int TOKEN_CACHE_SIZE = 1024;
+    private static final String SECURITY_VERSION_CLAIM = "sv";
 
     @Value("${jwt.secret:#{null}}")
     private String secret;
@@ -31,6 +50,8 @@ public class JwtUtil {
     private String secretFilePath;
 
     private Key signingKey;
+    private JwtParser parser;
+    private final LruCache<String, VerifiedToken> verifiedTokens = new LruCache<>(TOKEN_CACHE_SIZE);
 
     @PostConstruct
     public void init() {
@@ -40,6 +61,9 @@ public class JwtUtil {
             System.out.println("✅ JWT secret loaded/generated from: " + secretFilePath);
         }
         signingKey = Keys.hmacShaKeyFor(secret.getBytes());
+        parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
     }
 
     private String loadOrGenerateSecret() {
@@ -84,9 +108,10 @@ public class JwtUtil {
         return signingKey;
     }
 
-    public String generateToken(String username, String role) {
+    public String generateToken(String username, String role, long securityVersion) {
         Map<String, Object> claims = new HashMap<>();
         claims.put("role", role);
+        claims.put(SECURITY_VERSION_CLAIM, securityVersion);
         return createToken(claims, username);
     }
 
@@ -96,6 +121,7 @@ public class JwtUtil {
 
         return Jwts.builder()
                 .setClaims(claims)
+                .setId(UUID.randomUUID().toString())
                 .setSubject(subject)
                 .setIssuedAt(now)
                 .setExpiration(expiryDate)
@@ -103,33 +129,67 @@ public class JwtUtil {
                 .compact();
     }
 
+    /**
+     * Verify the signature and expiry of a token and read its claims.
+     *
+     * @throws io.jsonwebtoken.JwtException if the token is malformed, forged or expired
+     */
+    public VerifiedToken verify(String token) {
+        String digest = digest(token);
+        VerifiedToken verified = verifiedTokens.computeIfAbsent(digest, key -> parse(token));
+        if (verified.isExpired(System.currentTimeMillis())) {
+            verifiedTokens.remove(digest);
+            // Re-parse so an expired token fails exactly as it would without the cache
+            return parse(token);
+        }
+        return verified;
+    }
+
     public String extractUsername(String token) {
-        return extractAllClaims(token).getSubject();
+        return verify(token).username();
     }
 
     public String extractRole(String token) {
-        return extractAllClaims(token).get("role", String.class);
+        return verify(token).role();
     }
 
     public Date extractExpiration(String token) {
-        return extractAllClaims(token).getExpiration();
+        return verify(token).expiration();
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    public Boolean validateToken(String token, String username) {
+        return validateToken(verify(token), username);
     }
 
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    public boolean validateToken(VerifiedToken token, String username) {
+        return token.username().equals(username) && !token.isExpired(System.currentTimeMillis());
     }
 
-    public Boolean validateToken(String token, String username) {
-        final String tokenUsername = extractUsername(token);
-        return (tokenUsername.equals(username) && !isTokenExpired(token));
+    @Override
+    public String metricsName() {
+        return "tokenCache";
     }
-}
 
+    @Override
+    public Map<String, Object> metrics() {
+        return verifiedTokens.stats();
+    }
+
+    private VerifiedToken parse(String token) {
+        Claims claims = parser.parseClaimsJws(token).getBody();
+        Date expiration = claims.getExpiration();
+        Number securityVersion = claims.get(SECURITY_VERSION_CLAIM, Number.class);
+        return new VerifiedToken(claims.getId(), claims.getSubject(), claims.get("role", String.class),
+                securityVersion != null ? securityVersion.longValue() : 0L,
+                expiration != null ? expiration.getTime() : Long.MAX_VALUE);
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,252 @@
+package com.sasu.family.security;
+
+import com.sasu.family.service.MetricsSource;
+import com.sasu.family.util.SlidingWindowCounter;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Login Guard
+ *
+ * Keeps password hashing (BCrypt) from starving the rest of the API.
+ *
+ * All attempts are counted per client IP, and failed ones per username
+ * and client IP and per username alone, in lock-free sliding windows; an
+ * attempt is refused before any hashing once a limit is hit. The tight
+ * per-address window stops one client guessing without locking the user
+ * out elsewhere; the looser per-username window caps the guesses against
+ * one account from many addresses. Behind a reverse proxy the client IP
+ * comes from its forwarded headers (server.forward-headers-strategy).
+ * Hashing runs on a small pool sized to a share of the cores with a
+ * bounded queue; when the queue is full the attempt fails immediately
+ * instead of piling up on request threads.
+ *
+ * Queue depth, rejections and hash latency are reported on /api/metrics.
+ */
+@Component
+@Slf4j
+public class LoginGuard implements MetricsSource {
+
+    private static final int WINDOW_SLOTS = 6;
+    // Tracked usernames/IPs before idle ones are swept
+    private static final int MAX_TRACKED_KEYS = 10_000;
+
+    @Value("${app.login.hash-threads:0}")
+    private int hashThreads;
+
+    @Value("${app.login.queue-capacity:32}")
+    private int queueCapacity;
+
+    @Value("${app.login.hash-timeout-ms:10000}")
+    private long hashTimeoutMs;
+
+    @Value("${app.login.window-seconds:60}")
+    private long windowSeconds;
+
+    @Value("${app.login.max-failures-per-user-ip:10}")
+    private int maxFailuresPerUserIp;
+
+    @Value("${app.login.max-failures-per-user:50}")
+    private int maxFailuresPerUser;
+
+    @Value("${app.login.max-attempts-per-ip:30}")
+    private int maxAttemptsPerIp;
+
+    private ThreadPoolExecutor executor;
+    private final Map<String, SlidingWindowCounter> byUsername = new ConcurrentHashMap<>();
+    private final Map<String, SlidingWindowCounter> byUserIp = new ConcurrentHashMap<>();
+    private final Map<String, SlidingWindowCounter> byIp = new ConcurrentHashMap<>();
+
+    private final LongAdder hashes = new LongAdder();
+    private final LongAdder hashNanos = new LongAdder();
+    private final AtomicLong maxHashNanos = new AtomicLong();
+    private final LongAdder rejectedQueueFull = new LongAdder();
+    private final LongAdder throttledUsername = new LongAdder();
+    private final LongAdder throttledUserIp = new LongAdder();
+    private final LongAdder throttledIp = new LongAdder();
+
+    /**
+     * Thrown when an attempt is refused before hashing: 429 when throttled, 503 when the pool is full
+     */
+    public static class LoginRejectedException extends RuntimeException {
+
+        private final HttpStatus status;
+        private final long retryAfterSeconds;
+
+        public LoginRejectedException(HttpStatus status, String message, long retryAfterSeconds) {
+            super(message);
+            this.status = status;
+            this.retryAfterSeconds = retryAfterSeconds;
+        }
+
+        public HttpStatus getStatus() {
+            return status;
+        }
+
+        public long getRetryAfterSeconds() {
+            return retryAfterSeconds;
+        }
+    }
+
+    @PostConstruct
+    public void init() {
+        int threads = hashThreads > 0 ? hashThreads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger counter = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        log.info("Password hashing on {} thread(s), queue of {}", threads, queueCapacity);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Count an attempt against the IP and check the recent failures of the username, from it and overall
+     *
+     * @throws LoginRejectedException when either window is already full
+     */
+    public void checkAttempt(String username, String ip) {
+        long now = System.currentTimeMillis();
+        String address = ip != null ? ip : "";
+        acquire(byIp, address, maxAttemptsPerIp, now, true, throttledIp, "Too many attempts from this address");
+        if (username != null) {
+            acquire(byUserIp, username + '|' + address, maxFailuresPerUserIp, now, false, throttledUserIp,
+                    "Too many failed attempts for this user");
+            acquire(byUsername, username, maxFailuresPerUser, now, false, throttledUsername,
+                    "Too many failed attempts for this user");
+        }
+    }
+
+    /**
+     * Count a failed password check of the username, from the IP and overall
+     */
+    public void recordFailure(String username, String ip) {
+        if (username == null) return;
+        long now = System.currentTimeMillis();
+        counter(byUserIp, username + '|' + (ip != null ? ip : ""), now).incrementAndCount(now);
+        counter(byUsername, username, now).incrementAndCount(now);
+    }
+
+    /**
+     * Run password hashing work on the bounded pool and wait for it
+     *
+     * @throws LoginRejectedException when the queue is full or the work times out
+     */
+    public <T> T hash(Callable<T> work) throws Exception {
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long started = System.nanoTime();
+                try {
+                    return work.call();
+                } finally {
+                    long elapsed = System.nanoTime() - started;
+                    hashes.increment();
+                    hashNanos.add(elapsed);
+                    maxHashNanos.accumulateAndGet(elapsed, Math::max);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejectedQueueFull.increment();
+            throw new LoginRejectedException(HttpStatus.SERVICE_UNAVAILABLE, "Login is busy, try again shortly", 1);
+        }
+        try {
+            return future.get(hashTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception exception) throw exception;
+            throw e;
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new LoginRejectedException(HttpStatus.SERVICE_UNAVAILABLE, "Login is busy, try again shortly", 1);
+        }
+    }
+
+    @Override
+    public String metricsName() {
+        return "login";
+    }
+
+    @Override
+    public Map<String, Object> metrics() {
+        long count = hashes.sum();
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("hashThreads", executor.getMaximumPoolSize());
+        metrics.put("activeHashes", executor.getActiveCount());
+        metrics.put("queueDepth", executor.getQueue().size());
+        metrics.put("queueCapacity", queueCapacity);
+        metrics.put("hashes", count);
+        metrics.put("avgHashMs", count > 0 ? Math.round(hashNanos.sum() / (double) count / 10_000) / 100.0 : 0.0);
+        metrics.put("maxHashMs", Math.round(maxHashNanos.get() / 10_000) / 100.0);
+        metrics.put("rejectedQueueFull", rejectedQueueFull.sum());
+        metrics.put("throttledUsername", throttledUsername.sum());
+        metrics.put("throttledUserIp", throttledUserIp.sum());
+        metrics.put("throttledIp", throttledIp.sum());
+        metrics.put("trackedUsernames", byUsername.size());
+        metrics.put("trackedUserIps", byUserIp.size());
+        metrics.put("trackedIps", byIp.size());
+        return metrics;
+    }
+
+    /**
+     * @param count whether this attempt itself is counted (failures are counted afterwards instead)
+     */
+    private void acquire(Map<String, SlidingWindowCounter> counters, String key, int limit, long now, boolean count,
+                         LongAdder throttled, String message) {
+        SlidingWindowCounter counter = counter(counters, key, now);
+        // Refused attempts are not counted, so a lockout ends when the window drains
+        if (counter.count(now) >= limit || (count && counter.incrementAndCount(now) > limit)) {
+            throttled.increment();
+            long retryAfter = Math.max(1, (counter.millisUntilOldestExpires(now) + 999) / 1000);
+            throw new LoginRejectedException(HttpStatus.TOO_MANY_REQUESTS,
+                    message + ", try again in " + retryAfter + " seconds", retryAfter);
+        }
+    }
+
+    private SlidingWindowCounter counter(Map<String, SlidingWindowCounter> counters, String key, long now) {
+        SlidingWindowCounter counter = counters.get(key);
+        if (counter == null) {
+            if (counters.size() >= MAX_TRACKED_KEYS) {
+                sweep(counters, now);
+            }
+            counter = counters.computeIfAbsent(key, k -> new SlidingWindowCounter(windowSeconds * 1000, WINDOW_SLOTS));
+        }
+        return counter;
+    }
+
+    /**
+     * Drop counters with nothing left in their window
+     */
+    private static void sweep(Map<String, SlidingWindowCounter> counters, long now) {
+        Iterator<SlidingWindowCounter> it = counters.values().iterator();
+        while (it.hasNext()) {
+            if (it.next().isIdle(now)) it.remove();
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.sasu.family.security;
+
+import com.sasu.family.service.MetricsSource;
+import com.sasu.family.util.TokenBucket;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Rate Limit Filter
+ *
+ * Token-bucket limits per authenticated user and endpoint class, applied
+ * right after {@link JwtAuthFilter}, so one client polling in a loop can
+ * no longer starve everyone else on the single database connection.
+ *
+ * Classes: READ (plain GETs), COMPUTE (projections, simulations,
+ * scenarios, goals, stress tests, next actions, and the aggregate verify,
+ * rebuild and revalue jobs) and WRITE (everything else that changes
+ * data). Each has its own burst size and refill rate under app.rate-limit.*. A refused request gets 429 with
+ * Retry-After; unauthenticated requests are left to the security rules
+ * (logins are throttled by {@link LoginGuard}).
+ *
+ * Buckets are lock-free and kept in a bounded map; buckets that have
+ * refilled completely are idle and are evicted every minute, or at once
+ * when the map reaches its bound.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter implements MetricsSource {
+
+    private static final int MAX_BUCKETS = 10_000;
+
+    public enum EndpointClass {
+        READ,
+        COMPUTE,
+        WRITE
+    }
+
+    private record Limit(int capacity, double perSecond) {
+    }
+
+    @Value("${app.rate-limit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.rate-limit.read.capacity:60}")
+    private int readCapacity;
+
+    @Value("${app.rate-limit.read.per-second:10}")
+    private double readPerSecond;
+
+    @Value("${app.rate-limit.compute.capacity:10}")
+    private int computeCapacity;
+
+    @Value("${app.rate-limit.compute.per-second:1}")
+    private double computePerSecond;
+
+    @Value("${app.rate-limit.write.capacity:30}")
+    private int writeCapacity;
+
+    @Value("${app.rate-limit.write.per-second:2}")
+    private double writePerSecond;
+
+    private final Map<EndpointClass, Limit> limits = new EnumMap<>(EndpointClass.class);
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final Map<EndpointClass, LongAdder> allowed = new EnumMap<>(EndpointClass.class);
+    private final Map<EndpointClass, LongAdder> rejected = new EnumMap<>(EndpointClass.class);
+    private final LongAdder evicted = new LongAdder();
+
+    @PostConstruct
+    public void init() {
+        limits.put(EndpointClass.READ, new Limit(readCapacity, readPerSecond));
+        limits.put(EndpointClass.COMPUTE, new Limit(computeCapacity, computePerSecond));
+        limits.put(EndpointClass.WRITE, new Limit(writeCapacity, writePerSecond));
+        for (EndpointClass endpointClass : EndpointClass.values()) {
+            allowed.put(endpointClass, new LongAdder());
+            rejected.put(endpointClass, new LongAdder());
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (!enabled || authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken
+                || "OPTIONS".equals(request.getMethod())) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        EndpointClass endpointClass = classify(request.getMethod(), request.getRequestURI());
+        long now = System.nanoTime();
+        TokenBucket bucket = bucket(authentication.getName() + '|' + endpointClass, endpointClass, now);
+        long waitNanos = bucket.tryTake(now);
+        if (waitNanos == 0) {
+            allowed.get(endpointClass).increment();
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        rejected.get(endpointClass).increment();
+        long retryAfter = Math.max(1, (waitNanos + 999_999_999L) / 1_000_000_000L);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"error\":\"Too many " + endpointClass.name().toLowerCase()
+                + " requests, try again in " + retryAfter + " seconds\"}");
+    }
+
+    static EndpointClass classify(String method, String path) {
+        if (path.startsWith("/api/future/")
+                || path.startsWith("/api/scenarios")
+                || path.startsWith("/api/goals")
+                || path.startsWith("/api/stress-tests")
+                || path.startsWith("/api/dashboard/next-actions")
+                || path.startsWith("/api/aggregates/verify")
+                // Full-table batch jobs on the single connection
+                || path.startsWith("/api/aggregates/rebuild")
+                || path.startsWith("/api/aggregates/revalue")) {
+            return EndpointClass.COMPUTE;
+        }
+        if ("GET".equals(method) || "HEAD".equals(method)) {
+            return EndpointClass.READ;
+        }
+        return EndpointClass.WRITE;
+    }
+
+    @Scheduled(fixedDelay = 60_000)
+    public void evictIdle() {
+        evictIdle(System.nanoTime());
+    }
+
+    @Override
+    public String metricsName() {
+        return "rateLimit";
+    }
+
+    @Override
+    public Map<String, Object> metrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("enabled", enabled);
+        metrics.put("buckets", buckets.size());
+        metrics.put("evicted", evicted.sum());
+        for (EndpointClass endpointClass : EndpointClass.values()) {
+            Limit limit = limits.get(endpointClass);
+            Map<String, Object> counters = new LinkedHashMap<>();
+            counters.put("capacity", limit.capacity());
+            counters.put("perSecond", limit.perSecond());
+            counters.put("allowed", allowed.get(endpointClass).sum());
+            counters.put("rejected", rejected.get(endpointClass).sum());
+            metrics.put(endpointClass.name().toLowerCase(), counters);
+        }
+        return metrics;
+    }
+
+    private TokenBucket bucket(String key, EndpointClass endpointClass, long now) {
+        TokenBucket bucket = buckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= MAX_BUCKETS) {
+            evictIdle(now);
+        }
+        Limit limit = limits.get(endpointClass);
+        return buckets.computeIfAbsent(key, k -> new TokenBucket(limit.capacity(), limit.perSecond(), now));
+    }
+
+    private void evictIdle(long now) {
+        // A full bucket carries no state, so dropping it never lets a client exceed its rate
+        buckets.entrySet().removeIf(entry -> {
+            if (entry.getValue().isIdle(now)) {
+                evicted.increment();
+                return true;
+            }
+            return false;
+        });
+    }
+}
@@ -0,0 +1,147 @@
+package com.sasu.family.security;
+
+import com.sasu.family.model.RevokedToken;
+import com.sasu.family.repository.RevokedTokenRepository;
+import com.sasu.family.service.MetricsSource;
+import com.sasu.family.util.BloomFilter;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Token Revocation Service
+ *
+ * Revoked token IDs (jti) are stored in revoked_tokens and mirrored in
+ * memory, so checking a token never touches the database. The check is a
+ * Bloom filter first; only the rare filter hit is confirmed against the
+ * exact set of revoked IDs.
+ *
+ * Revocations are kept until the token would have expired. The hourly
+ * sweep drops expired IDs from the exact set and the table, then builds a
+ * new filter from the remaining IDs and swaps it in, so the filter stays
+ * sized to the live set. Lookups never block on a rebuild.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TokenRevocationService implements MetricsSource {
+
+    private static final int MIN_FILTER_CAPACITY = 1024;
+    private static final double FALSE_POSITIVE_RATE = 0.001;
+
+    private final RevokedTokenRepository revokedTokenRepository;
+
+    // Token ID -> expiry (epoch millis)
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+    private volatile BloomFilter filter = BloomFilter.forCapacity(MIN_FILTER_CAPACITY, FALSE_POSITIVE_RATE);
+    private volatile int filterCapacity = MIN_FILTER_CAPACITY;
+
+    private final LongAdder checks = new LongAdder();
+    private final LongAdder filterHits = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder rebuilds = new LongAdder();
+
+    @PostConstruct
+    public void init() {
+        for (RevokedToken token : revokedTokenRepository.findByExpiresAtAfter(LocalDateTime.now())) {
+            revoked.put(token.getTokenId(), toMillis(token.getExpiresAt()));
+        }
+        rebuild();
+        log.info("Loaded {} revoked token(s)", revoked.size());
+    }
+
+    public boolean isRevoked(String tokenId) {
+        checks.increment();
+        if (!filter.mightContain(tokenId)) {
+            return false;
+        }
+        filterHits.increment();
+        if (revoked.containsKey(tokenId)) {
+            rejected.increment();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Revoke a token until its expiry; revoking it again is a no-op
+     */
+    public synchronized void revoke(VerifiedToken token) {
+        if (token.tokenId() == null) {
+            throw new IllegalArgumentException("Token has no ID and cannot be revoked on its own");
+        }
+        if (revoked.containsKey(token.tokenId()) || revokedTokenRepository.existsByTokenId(token.tokenId())) {
+            return;
+        }
+        revokedTokenRepository.save(RevokedToken.builder()
+                .tokenId(token.tokenId())
+                .username(token.username())
+                .revokedAt(LocalDateTime.now())
+                .expiresAt(LocalDateTime.ofInstant(Instant.ofEpochMilli(token.expiresAtMillis()), ZoneId.systemDefault()))
+                .build());
+        revoked.put(token.tokenId(), token.expiresAtMillis());
+        if (revoked.size() > filterCapacity) {
+            rebuild();
+        } else {
+            filter.add(token.tokenId());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.revocation.sweep-ms:3600000}", initialDelayString = "${app.revocation.sweep-ms:3600000}")
+    public void sweepExpired() {
+        long now = System.currentTimeMillis();
+        int before = revoked.size();
+        revoked.values().removeIf(expiresAt -> expiresAt <= now);
+        int deleted = revokedTokenRepository.deleteExpired(LocalDateTime.now());
+        if (revoked.size() < before) {
+            rebuild();
+        }
+        if (deleted > 0 || revoked.size() < before) {
+            log.info("Dropped {} expired revocation(s), {} remain", Math.max(deleted, before - revoked.size()), revoked.size());
+        }
+    }
+
+    @Override
+    public String metricsName() {
+        return "tokenRevocation";
+    }
+
+    @Override
+    public Map<String, Object> metrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("revoked", revoked.size());
+        metrics.put("filterCapacity", filterCapacity);
+        metrics.put("checks", checks.sum());
+        metrics.put("filterHits", filterHits.sum());
+        metrics.put("rejected", rejected.sum());
+        metrics.put("falsePositives", filterHits.sum() - rejected.sum());
+        metrics.put("rebuilds", rebuilds.sum());
+        return metrics;
+    }
+
+    /**
+     * Build a filter for the current IDs with room to grow and swap it in
+     */
+    private synchronized void rebuild() {
+        int capacity = Math.max(MIN_FILTER_CAPACITY, revoked.size() * 2);
+        BloomFilter next = BloomFilter.forCapacity(capacity, FALSE_POSITIVE_RATE);
+        revoked.keySet().forEach(next::add);
+        filter = next;
+        filterCapacity = capacity;
+        rebuilds.increment();
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
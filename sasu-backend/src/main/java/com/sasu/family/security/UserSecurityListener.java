@@ -0,0 +1,35 @@
+package com.sasu.family.security;
+
+import com.sasu.family.model.User;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * User Security Listener
+ *
+ * Drops a user's cached principal whenever the row is written or deleted,
+ * so a bumped security version takes effect on the next request.
+ *
+ * Created by Hibernate through Spring; the details service is looked up
+ * lazily because it depends on the entity manager being built.
+ */
+public class UserSecurityListener {
+
+    private final ObjectProvider<CustomUserDetailsService> userDetailsService;
+
+    public UserSecurityListener(ObjectProvider<CustomUserDetailsService> userDetailsService) {
+        this.userDetailsService = userDetailsService;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void userChanged(User user) {
+        CustomUserDetailsService service = userDetailsService.getIfAvailable();
+        if (service != null) {
+            service.evict(user.getUsername());
+        }
+    }
+}
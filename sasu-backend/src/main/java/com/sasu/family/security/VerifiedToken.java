@@ -0,0 +1,23 @@
+package com.sasu.family.security;
+
+import java.util.Date;
+
+/**
+ * Verified Token
+ *
+ * Claims of a JWT whose signature has been checked, read in one parse.
+ * Expiry is kept as epoch millis so checking it allocates nothing.
+ * securityVersion is the user's version when the token was issued
+ * (0 for tokens issued before versioning); tokenId is the jti claim
+ * (null for tokens issued before revocation support).
+ */
+public record VerifiedToken(String tokenId, String username, String role, long securityVersion, long expiresAtMillis) {
+
+    public Date expiration() {
+        return new Date(expiresAtMillis);
+    }
+
+    public boolean isExpired(long nowMillis) {
+        return nowMillis >= expiresAtMillis;
+    }
+}
@@ -0,0 +1,157 @@
+package com.sasu.family.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Amortization Schedule
+ *
+ * Closed-form fixed-payment loan schedule. Nothing is simulated month by
+ * month: the balance after k payments is
+ *
+ *   B(k) = P(1+r)^k - M((1+r)^k - 1) / r      (r > 0)
+ *   B(k) = P - M k                            (r = 0)
+ *
+ * and the payoff month is n = ceil(-ln(1 - P r / M) / ln(1 + r)).
+ * Any month, page of months or summary can therefore be read in O(1).
+ *
+ * Payment k falls one month after payment k-1, the first one month after
+ * the start date. As in the mobile client, a payment that does not cover
+ * the interest leaves the balance unchanged and the loan never pays off.
+ */
+public class AmortizationSchedule {
+
+    private final double principal;
+    private final double payment;
+    private final double monthlyRate;
+    private final LocalDate startDate;
+    private final boolean amortizing;
+    private final int totalMonths;
+    private final double totalInterest;
+
+    public AmortizationSchedule(BigDecimal originalAmount, BigDecimal monthlyPayment, BigDecimal yearlyRatePercent, LocalDate startDate) {
+        this.principal = originalAmount.doubleValue();
+        this.payment = monthlyPayment.doubleValue();
+        this.monthlyRate = yearlyRatePercent != null ? yearlyRatePercent.doubleValue() / 100 / 12 : 0;
+        this.startDate = startDate;
+        this.amortizing = payment > 0 && payment > principal * monthlyRate;
+        this.totalMonths = amortizing ? payoffMonths() : -1;
+        this.totalInterest = amortizing ? computeTotalInterest() : -1;
+    }
+
+    /**
+     * False when the payment does not cover the monthly interest
+     */
+    public boolean isAmortizing() {
+        return amortizing;
+    }
+
+    /**
+     * Number of payments until payoff, -1 if the loan never pays off
+     */
+    public int getTotalMonths() {
+        return totalMonths;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    /**
+     * Date of the final payment, null if the loan never pays off
+     */
+    public LocalDate getPayoffDate() {
+        return amortizing ? startDate.plusMonths(totalMonths) : null;
+    }
+
+    /**
+     * Interest over the whole loan, null if the loan never pays off
+     */
+    public BigDecimal getTotalInterest() {
+        return amortizing ? money(totalInterest) : null;
+    }
+
+    /**
+     * Payments made on or before the given date (months elapsed, capped at payoff)
+     */
+    public int paymentsMadeBy(LocalDate asOf) {
+        if (asOf.isBefore(startDate)) {
+            return 0;
+        }
+        int elapsed = (int) ChronoUnit.MONTHS.between(startDate.withDayOfMonth(1), asOf.withDayOfMonth(1));
+        return amortizing ? Math.min(elapsed, totalMonths) : elapsed;
+    }
+
+    public BigDecimal balanceAfter(int payments) {
+        return money(balance(payments));
+    }
+
+    public BigDecimal balanceAsOf(LocalDate asOf) {
+        return balanceAfter(paymentsMadeBy(asOf));
+    }
+
+    public boolean isPaidOffBy(LocalDate asOf) {
+        return amortizing && paymentsMadeBy(asOf) >= totalMonths;
+    }
+
+    /**
+     * Payment number {@code month} (1-based); null past payoff
+     */
+    public Row row(int month) {
+        if (month < 1 || (amortizing && month > totalMonths)) {
+            return null;
+        }
+        double opening = balance(month - 1);
+        double interest = opening * monthlyRate;
+        double paid = amortizing ? Math.min(payment, opening + interest) : payment;
+        double principalPart = amortizing ? paid - interest : 0;
+        return new Row(month, startDate.plusMonths(month), money(paid), money(interest),
+                money(principalPart), money(balance(month)));
+    }
+
+    public record Row(int month, LocalDate date, BigDecimal payment, BigDecimal interest,
+                      BigDecimal principal, BigDecimal balance) {
+    }
+
+    private double balance(int k) {
+        if (k <= 0) {
+            return principal;
+        }
+        if (!amortizing) {
+            return principal;
+        }
+        if (k >= totalMonths) {
+            return 0;
+        }
+        double value;
+        if (monthlyRate == 0) {
+            value = principal - payment * k;
+        } else {
+            double growth = Math.pow(1 + monthlyRate, k);
+            value = principal * growth - payment * (growth - 1) / monthlyRate;
+        }
+        return Math.max(0, value);
+    }
+
+    private int payoffMonths() {
+        if (monthlyRate == 0) {
+            return (int) Math.ceil(principal / payment);
+        }
+        double n = -Math.log(1 - principal * monthlyRate / payment) / Math.log(1 + monthlyRate);
+        // Guard against n landing a hair above an integer through rounding
+        int months = (int) Math.ceil(n - 1e-9);
+        return Math.max(months, 1);
+    }
+
+    private double computeTotalInterest() {
+        double lastOpening = balance(totalMonths - 1);
+        double lastPayment = lastOpening * (1 + monthlyRate);
+        return payment * (totalMonths - 1) + lastPayment - principal;
+    }
+
+    private static BigDecimal money(double value) {
+        return BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP);
+    }
+}
@@ -2,32 +2,81 @@ package com.sasu.family.service;
 
 import com.sasu.family.model.AppConfig;
 import com.sasu.family.repository.AppConfigRepository;
+import com.sasu.family.util.ExchangeRates;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
 
+/**
+ * App Config Service
+ *
+ * The app_config table is loaded once into an immutable {@link AppConfigSnapshot};
+ * every read is served from memory. setConfig() writes the row and then
+ * publishes a new snapshot in one atomic swap, so readers see either the
+ * old or the new configuration and changes apply immediately.
+ */
 @Service
 @RequiredArgsConstructor
 public class AppConfigService {
 
     private final AppConfigRepository appConfigRepository;
+    private final DataVersionService dataVersionService;
+
+    private final AtomicReference<AppConfigSnapshot> snapshot = new AtomicReference<>();
 
     // Config keys
     public static final String USD_TO_LKR_RATE = "USD_TO_LKR_RATE";
+    // Monte Carlo assumptions per asset type in percent, e.g. MONTE_CARLO_VOLATILITY_SHARES=20
+    public static final String MONTE_CARLO_MEAN_PREFIX = "MONTE_CARLO_MEAN_";
+    public static final String MONTE_CARLO_VOLATILITY_PREFIX = "MONTE_CARLO_VOLATILITY_";
+    // Cash-flow simulation: share of a monthly surplus invested, and yearly rates of the two pots, in percent
+    public static final String CASHFLOW_INVEST_SHARE = "CASHFLOW_INVEST_SHARE";
+    public static final String CASHFLOW_INVEST_RATE = "CASHFLOW_INVEST_RATE";
+    public static final String CASHFLOW_CASH_RATE = "CASHFLOW_CASH_RATE";
+    // Retirement drawdown: yearly indexation of withdrawals, in percent
+    public static final String RETIREMENT_INFLATION_RATE = "RETIREMENT_INFLATION_RATE";
+    // Next-action ranking: assumed yearly premium per unit of cover for a new policy, in percent
+    public static final String LIFE_PREMIUM_RATE = "LIFE_PREMIUM_RATE";
+    public static final String MEDICAL_PREMIUM_RATE = "MEDICAL_PREMIUM_RATE";
 
     // Default values
     public static final String DEFAULT_USD_TO_LKR = "298.50";
+    public static final BigDecimal DEFAULT_CASHFLOW_INVEST_SHARE = BigDecimal.valueOf(50);
+    public static final BigDecimal DEFAULT_CASHFLOW_INVEST_RATE = BigDecimal.valueOf(10);
+    public static final BigDecimal DEFAULT_CASHFLOW_CASH_RATE = BigDecimal.valueOf(3);
+    public static final BigDecimal DEFAULT_RETIREMENT_INFLATION_RATE = BigDecimal.valueOf(5);
+    public static final BigDecimal DEFAULT_LIFE_PREMIUM_RATE = new BigDecimal("0.5");
+    public static final BigDecimal DEFAULT_MEDICAL_PREMIUM_RATE = BigDecimal.valueOf(3);
+
+    /**
+     * Current configuration, loaded from the database on first use
+     */
+    public AppConfigSnapshot snapshot() {
+        AppConfigSnapshot current = snapshot.get();
+        if (current == null) {
+            synchronized (this) {
+                current = snapshot.get();
+                if (current == null) {
+                    current = load();
+                    snapshot.set(current);
+                }
+            }
+        }
+        return current;
+    }
 
     public String getConfig(String key, String defaultValue) {
-        return appConfigRepository.findByConfigKey(key)
-                .map(AppConfig::getConfigValue)
-                .orElse(defaultValue);
+        return snapshot().getString(key, defaultValue);
     }
 
-    public void setConfig(String key, String value, String updatedBy) {
+    public synchronized void setConfig(String key, String value, String updatedBy) {
+        AppConfigSnapshot current = snapshot();
         Optional<AppConfig> existingConfig = appConfigRepository.findByConfigKey(key);
 
         AppConfig config;
@@ -44,20 +93,31 @@ public class AppConfigService {
         config.setLastUpdated(LocalDateTime.now());
         config.setUpdatedBy(updatedBy);
         appConfigRepository.save(config);
+        snapshot.set(current.with(key, value));
+        dataVersionService.bump(DataVersionService.Scope.CONFIG);
     }
 
     // Convenience methods for exchange rate
     public BigDecimal getUsdToLkrRate() {
-        String rate = getConfig(USD_TO_LKR_RATE, DEFAULT_USD_TO_LKR);
-        try {
-            return new BigDecimal(rate);
-        } catch (NumberFormatException e) {
-            return new BigDecimal(DEFAULT_USD_TO_LKR);
-        }
+        return snapshot().getUsdToLkrRate();
+    }
+
+    /**
+     * Current rates into LKR for every supported currency
+     */
+    public ExchangeRates getExchangeRates() {
+        return snapshot().getExchangeRates();
     }
 
     public void setUsdToLkrRate(BigDecimal rate, String updatedBy) {
         setConfig(USD_TO_LKR_RATE, rate.toString(), updatedBy);
     }
-}
 
+    private AppConfigSnapshot load() {
+        Map<String, String> values = new HashMap<>();
+        for (AppConfig config : appConfigRepository.findAll()) {
+            values.put(config.getConfigKey(), config.getConfigValue());
+        }
+        return new AppConfigSnapshot(values);
+    }
+}
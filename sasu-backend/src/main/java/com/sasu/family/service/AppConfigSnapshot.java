@@ -0,0 +1,77 @@
+package com.sasu.family.service;
+
+import com.sasu.family.util.ExchangeRates;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * App Config Snapshot
+ *
+ * Immutable view of the app_config table with typed getters.
+ *
+ * Values that sit on hot paths (exchange rates) are parsed once when the
+ * snapshot is built; a change produces a new snapshot via {@link #with}.
+ */
+public final class AppConfigSnapshot {
+
+    private final Map<String, String> values;
+    private final ExchangeRates exchangeRates;
+
+    public AppConfigSnapshot(Map<String, String> values) {
+        this.values = Collections.unmodifiableMap(new HashMap<>(values));
+        this.exchangeRates = new ExchangeRates(Map.of("USD", getUsdToLkrRate()));
+    }
+
+    /**
+     * Copy of this snapshot with one value replaced
+     */
+    public AppConfigSnapshot with(String key, String value) {
+        Map<String, String> next = new HashMap<>(values);
+        next.put(key, value);
+        return new AppConfigSnapshot(next);
+    }
+
+    public Map<String, String> asMap() {
+        return values;
+    }
+
+    public String getString(String key, String defaultValue) {
+        return values.getOrDefault(key, defaultValue);
+    }
+
+    public BigDecimal getDecimal(String key, BigDecimal defaultValue) {
+        String value = values.get(key);
+        if (value == null) return defaultValue;
+        try {
+            return new BigDecimal(value.trim());
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    public int getInt(String key, int defaultValue) {
+        String value = values.get(key);
+        if (value == null) return defaultValue;
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    public boolean getBoolean(String key, boolean defaultValue) {
+        String value = values.get(key);
+        return value != null ? Boolean.parseBoolean(value.trim()) : defaultValue;
+    }
+
+    public BigDecimal getUsdToLkrRate() {
+        return getDecimal(AppConfigService.USD_TO_LKR_RATE, new BigDecimal(AppConfigService.DEFAULT_USD_TO_LKR));
+    }
+
+    public ExchangeRates getExchangeRates() {
+        return exchangeRates;
+    }
+}
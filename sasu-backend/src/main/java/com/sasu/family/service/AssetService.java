@@ -4,7 +4,9 @@ import com.sasu.family.model.Asset;
 import com.sasu.family.repository.AssetRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -13,9 +15,15 @@ import java.util.List;
 public class AssetService {
 
     private final AssetRepository assetRepository;
+    private final HouseholdAggregatesService householdAggregatesService;
+    private final DataVersionService dataVersionService;
+    private final AssetValuationService assetValuationService;
 
-    public List<Asset> getAllAssets() {
-        return assetRepository.findByActiveTrue();
+    /**
+     * Active assets with auto-growth values computed as of the given date
+     */
+    public List<Asset> getAllAssets(LocalDate asOf) {
+        return assetValuationService.valuedCopies(assetRepository.findByActiveTrue(), asOf);
     }
 
     public Asset getAssetById(Long id) {
@@ -23,6 +31,11 @@ public class AssetService {
                 .orElseThrow(() -> new RuntimeException("Asset not found"));
     }
 
+    public Asset getAssetById(Long id, LocalDate asOf) {
+        return assetValuationService.valuedCopy(getAssetById(id), asOf);
+    }
+
+    @Transactional
     public Asset createAsset(Asset asset) {
         asset.setLastUpdated(LocalDate.now());
         asset.setActive(true);
@@ -31,11 +44,22 @@ public class AssetService {
         if (asset.getIsInvestment() == null) asset.setIsInvestment(false);
         if (asset.getAutoGrowth() == null) asset.setAutoGrowth(false);
         if (asset.getCurrency() == null) asset.setCurrency("LKR");
-        return assetRepository.save(asset);
+        Asset saved = assetRepository.save(asset);
+        householdAggregatesService.include(saved);
+        dataVersionService.bump(DataVersionService.Scope.ASSETS);
+        return saved;
     }
 
+    @Transactional
     public Asset updateAsset(Long id, Asset assetDetails) {
         Asset asset = getAssetById(id);
+        householdAggregatesService.exclude(asset);
+
+        // A newly entered value is the new growth base; the echoed stored or as-of value keeps the old one
+        if (!sameAmount(assetDetails.getCurrentValue(), asset.getCurrentValue())
+                && !sameAmount(assetDetails.getCurrentValue(), assetValuationService.valueAsOf(asset, LocalDate.now()))) {
+            asset.setValuationBaseValue(null);
+        }
 
         asset.setName(assetDetails.getName());
         asset.setType(assetDetails.getType());
@@ -51,13 +75,26 @@ public class AssetService {
         asset.setCurrency(assetDetails.getCurrency() != null ? assetDetails.getCurrency() : "LKR");
         asset.setLastUpdated(LocalDate.now());
 
-        return assetRepository.save(asset);
+        Asset saved = assetRepository.save(asset);
+        householdAggregatesService.include(saved);
+        dataVersionService.bump(DataVersionService.Scope.ASSETS);
+        return saved;
     }
 
+    @Transactional
     public void deleteAsset(Long id) {
         Asset asset = getAssetById(id);
+        householdAggregatesService.exclude(asset);
         asset.setActive(false);
         assetRepository.save(asset);
+        dataVersionService.bump(DataVersionService.Scope.ASSETS);
+    }
+
+    private static boolean sameAmount(BigDecimal a, BigDecimal b) {
+        if (a == null || b == null) {
+            return a == b;
+        }
+        return a.compareTo(b) == 0;
     }
 }
 
@@ -0,0 +1,159 @@
+package com.sasu.family.service;
+
+import com.sasu.family.model.Asset;
+import com.sasu.family.util.LruCache;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Asset Valuation Service
+ *
+ * Computes as-of-date values for auto-growth assets on read, using the
+ * same rules as the mobile client (core/utils/value_calculator.dart):
+ * - Start date is purchaseDate, or 1 January of purchaseYear
+ * - Base value is purchaseValue, or the entered currentValue when not set
+ *   (valuationBaseValue once the revaluation job has grown current_value)
+ * - Rate is yearlyGrowthRate, or the default rate for the asset type
+ * - Full years compound annually, the partial year accrues simple interest
+ *
+ * Compound factors are memoized per (rate, elapsed days), so valuing many
+ * assets on the same day costs one factor per distinct rate.
+ */
+@Service
+public class AssetValuationService {
+
+    private static final int FACTOR_CACHE_SIZE = 4096;
+    private static final BigDecimal DAYS_PER_YEAR = BigDecimal.valueOf(365);
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    private final LruCache<FactorKey, BigDecimal> factorCache = new LruCache<>(FACTOR_CACHE_SIZE);
+
+    /**
+     * True when the asset's value is derived from its purchase data rather than stored
+     */
+    public boolean isAutoValued(Asset asset) {
+        return Boolean.TRUE.equals(asset.getAutoGrowth()) && startDateOf(asset) != null;
+    }
+
+    /**
+     * Value of the asset on the given date (the stored value for manually valued assets)
+     */
+    public BigDecimal valueAsOf(Asset asset, LocalDate asOf) {
+        if (!Boolean.TRUE.equals(asset.getAutoGrowth())) {
+            return asset.getCurrentValue();
+        }
+        LocalDate startDate = startDateOf(asset);
+        if (startDate == null) {
+            return asset.getCurrentValue();
+        }
+
+        BigDecimal baseValue = baseValueOf(asset);
+        BigDecimal rate = effectiveGrowthRate(asset);
+        if (baseValue == null || rate.signum() == 0 || startDate.isAfter(asOf)) {
+            return baseValue;
+        }
+
+        long days = ChronoUnit.DAYS.between(startDate, asOf);
+        return baseValue.multiply(growthFactor(rate, days)).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Copy of the asset carrying its as-of value; manually valued assets are returned as-is
+     */
+    public Asset valuedCopy(Asset asset, LocalDate asOf) {
+        if (!isAutoValued(asset)) {
+            return asset;
+        }
+        return asset.toBuilder()
+                .currentValue(valueAsOf(asset, asOf))
+                .lastUpdated(asOf)
+                .build();
+    }
+
+    public List<Asset> valuedCopies(List<Asset> assets, LocalDate asOf) {
+        List<Asset> valued = new ArrayList<>(assets.size());
+        for (Asset asset : assets) {
+            valued.add(valuedCopy(asset, asOf));
+        }
+        return valued;
+    }
+
+    /**
+     * Compound factor for a yearly percentage rate over the elapsed days
+     */
+    public BigDecimal growthFactor(BigDecimal yearlyRatePercent, long days) {
+        if (days <= 0) {
+            return BigDecimal.ONE;
+        }
+        return factorCache.computeIfAbsent(new FactorKey(yearlyRatePercent.stripTrailingZeros(), days),
+                key -> computeFactor(key.rate(), key.days()));
+    }
+
+    public BigDecimal effectiveGrowthRate(Asset asset) {
+        return asset.getYearlyGrowthRate() != null
+                ? asset.getYearlyGrowthRate()
+                : defaultGrowthRate(asset.getType());
+    }
+
+    /**
+     * Default yearly growth rate (percent) per asset type, matching the mobile client
+     */
+    public static BigDecimal defaultGrowthRate(Asset.AssetType type) {
+        if (type == null) return BigDecimal.ZERO;
+        return switch (type) {
+            case EPF, RETIREMENT_FUND -> BigDecimal.valueOf(11);
+            case LAND -> BigDecimal.valueOf(8);
+            case HOUSE -> BigDecimal.valueOf(5);
+            case FIXED_DEPOSIT -> BigDecimal.valueOf(7);
+            case SHARES -> BigDecimal.valueOf(12);
+            case GOLD -> BigDecimal.valueOf(6);
+            case SAVINGS, BANK_DEPOSIT -> BigDecimal.valueOf(3);
+            case VEHICLE -> BigDecimal.valueOf(-15);
+            default -> BigDecimal.ZERO;
+        };
+    }
+
+    public static BigDecimal baseValueOf(Asset asset) {
+        if (asset.getPurchaseValue() != null) return asset.getPurchaseValue();
+        if (asset.getValuationBaseValue() != null) return asset.getValuationBaseValue();
+        return asset.getCurrentValue();
+    }
+
+    public static LocalDate startDateOf(Asset asset) {
+        if (asset.getPurchaseDate() != null && !asset.getPurchaseDate().isBlank()) {
+            try {
+                return LocalDate.parse(asset.getPurchaseDate().trim());
+            } catch (DateTimeParseException ignored) {
+                // Fall back to purchaseYear like the mobile client
+            }
+        }
+        if (asset.getPurchaseYear() != null) {
+            return LocalDate.of(asset.getPurchaseYear(), 1, 1);
+        }
+        return null;
+    }
+
+    private static BigDecimal computeFactor(BigDecimal ratePercent, long days) {
+        BigDecimal rate = ratePercent.divide(HUNDRED, MathContext.DECIMAL64);
+        int fullYears = (int) (days / 365);
+        long partialDays = days % 365;
+
+        BigDecimal factor = BigDecimal.ONE.add(rate).pow(fullYears, MathContext.DECIMAL64);
+        if (partialDays > 0) {
+            BigDecimal partialYear = BigDecimal.valueOf(partialDays).divide(DAYS_PER_YEAR, MathContext.DECIMAL64);
+            factor = factor.multiply(BigDecimal.ONE.add(rate.multiply(partialYear)), MathContext.DECIMAL64);
+        }
+        return factor;
+    }
+
+    private record FactorKey(BigDecimal rate, long days) {
+    }
+}
@@ -0,0 +1,98 @@
+package com.sasu.family.service;
+
+import com.sasu.family.dto.CashFlowProjectionDTO;
+import com.sasu.family.util.ExchangeRates;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cash Flow Service
+ *
+ * Yearly net-worth and cash-flow series from the {@link CashFlowSimulator}
+ * over today's household data. The surplus rule comes from the
+ * CASHFLOW_* app config values unless the caller overrides it.
+ */
+@Service
+@RequiredArgsConstructor
+public class CashFlowService {
+
+    private final HouseholdSnapshotService householdSnapshotService;
+    private final AppConfigService appConfigService;
+
+    /**
+     * @param investShare percent of a surplus invested, null for the configured value
+     * @param investRate  yearly percent earned by invested surplus, null for the configured value
+     * @param cashRate    yearly percent earned by cash, null for the configured value
+     */
+    public CashFlowProjectionDTO getCashFlowProjection(int currentAge, int years, String currency,
+                                                       BigDecimal investShare, BigDecimal investRate, BigDecimal cashRate) {
+        if (years < 1 || years > FutureProjectionService.MAX_HORIZON_YEARS) {
+            throw new IllegalArgumentException("years must be between 1 and " + FutureProjectionService.MAX_HORIZON_YEARS);
+        }
+        AppConfigSnapshot config = appConfigService.snapshot();
+        ExchangeRates rates = config.getExchangeRates();
+        String reportingCurrency = rates.resolve(currency);
+
+        BigDecimal share = investShare != null ? investShare
+                : config.getDecimal(AppConfigService.CASHFLOW_INVEST_SHARE, AppConfigService.DEFAULT_CASHFLOW_INVEST_SHARE);
+        BigDecimal investGrowth = investRate != null ? investRate
+                : config.getDecimal(AppConfigService.CASHFLOW_INVEST_RATE, AppConfigService.DEFAULT_CASHFLOW_INVEST_RATE);
+        BigDecimal cashGrowth = cashRate != null ? cashRate
+                : config.getDecimal(AppConfigService.CASHFLOW_CASH_RATE, AppConfigService.DEFAULT_CASHFLOW_CASH_RATE);
+        if (share.signum() < 0 || share.compareTo(BigDecimal.valueOf(100)) > 0) {
+            throw new IllegalArgumentException("investShare must be between 0 and 100");
+        }
+
+        LocalDate today = LocalDate.now();
+        CashFlowSimulator simulator = CashFlowSimulator.of(householdSnapshotService.loadValued(today), rates, today);
+        List<CashFlowSimulator.YearPoint> points = simulator.simulate(years, new CashFlowSimulator.SurplusRule(
+                share.doubleValue() / 100, investGrowth.doubleValue() / 100, cashGrowth.doubleValue() / 100));
+
+        double perBaseUnit = BigDecimal.ONE.divide(rates.rateToBase(reportingCurrency), MathContext.DECIMAL64).doubleValue();
+        List<CashFlowProjectionDTO.YearlyCashFlow> projections = new ArrayList<>(points.size());
+        Integer debtFreeYear = null;
+        Integer firstDeficitYear = null;
+        for (int i = 0; i < points.size(); i++) {
+            CashFlowSimulator.YearPoint point = points.get(i);
+            if (debtFreeYear == null && point.liabilities() < 0.005) debtFreeYear = point.year();
+            if (firstDeficitYear == null && point.netCashFlow() < 0) firstDeficitYear = point.year();
+            projections.add(CashFlowProjectionDTO.YearlyCashFlow.builder()
+                    .year(point.year())
+                    .age(currentAge + i + 1)
+                    .income(amount(point.income() * perBaseUnit))
+                    .expenses(amount(point.expenses() * perBaseUnit))
+                    .premiums(amount(point.premiums() * perBaseUnit))
+                    .loanPayments(amount(point.loanPayments() * perBaseUnit))
+                    .maturities(amount(point.maturities() * perBaseUnit))
+                    .netCashFlow(amount(point.netCashFlow() * perBaseUnit))
+                    .cash(amount(point.cash() * perBaseUnit))
+                    .invested(amount(point.invested() * perBaseUnit))
+                    .assetValue(amount(point.assets() * perBaseUnit))
+                    .liabilities(amount(point.liabilities() * perBaseUnit))
+                    .netWorth(amount(point.netWorth() * perBaseUnit))
+                    .build());
+        }
+
+        return CashFlowProjectionDTO.builder()
+                .currency(reportingCurrency)
+                .years(years)
+                .investShare(share)
+                .investRate(investGrowth)
+                .cashRate(cashGrowth)
+                .debtFreeYear(debtFreeYear)
+                .firstDeficitYear(firstDeficitYear)
+                .projections(projections)
+                .build();
+    }
+
+    private static BigDecimal amount(double value) {
+        return BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP);
+    }
+}
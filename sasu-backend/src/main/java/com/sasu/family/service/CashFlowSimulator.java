@@ -0,0 +1,321 @@
+package com.sasu.family.service;
+
+import com.sasu.family.model.Expense;
+import com.sasu.family.model.Income;
+import com.sasu.family.model.Insurance;
+import com.sasu.family.model.Liability;
+import com.sasu.family.util.ExchangeRates;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Cash Flow Simulator
+ *
+ * Discrete-event simulation of the household month by month.
+ *
+ * Every dated cash flow is an event on a priority queue ordered by month:
+ * incomes and expenses by their frequency (ONE_TIME fires once), loan EMIs
+ * until the balance reaches zero, premiums by PremiumFrequency until the
+ * policy matures, and maturity benefits once. A recurring event is put
+ * back with its next month after firing, so the queue holds one entry per
+ * item and nothing is allocated while the simulation runs.
+ *
+ * Existing assets grow as in {@link ProjectionEngine}. Each month's net
+ * cash flow is split by a {@link SurplusRule} between an invested pot and
+ * a cash pot; a deficit is drawn from cash first, then from the invested
+ * pot, and beyond that shows up as negative cash.
+ *
+ * Recurring items are aligned to their start date (a quarterly income that
+ * started in February pays in February, May, ...); items without a start
+ * date begin next month. Month 1 is the month after today. Incomes,
+ * expenses, liabilities and policies are in the base currency.
+ */
+public final class CashFlowSimulator {
+
+    /**
+     * @param investShare       fraction of a surplus that is invested, the rest is kept as cash
+     * @param investYearlyRate  yearly growth of the invested pot (fraction)
+     * @param cashYearlyRate    yearly interest on the cash pot (fraction)
+     */
+    public record SurplusRule(double investShare, double investYearlyRate, double cashYearlyRate) {
+    }
+
+    /**
+     * One simulated year, base currency; flows are totals over the year, balances at its end
+     */
+    public record YearPoint(int year, double income, double expenses, double premiums, double loanPayments,
+                            double maturities, double netCashFlow, double cash, double invested,
+                            double assets, double liabilities) {
+
+        public double netWorth() {
+            return assets + cash + invested - liabilities;
+        }
+    }
+
+    private enum Kind {
+        INCOME,
+        EXPENSE,
+        PREMIUM,
+        MATURITY,
+        EMI
+    }
+
+    private static final class Event {
+        private int month;
+        private final int period;       // 0 = once
+        private final int lastMonth;    // inclusive
+        private final Kind kind;
+        private final double amount;
+        private final int loan;         // EMI only: index into the loan arrays
+
+        private Event(int month, int period, int lastMonth, Kind kind, double amount, int loan) {
+            this.month = month;
+            this.period = period;
+            this.lastMonth = lastMonth;
+            this.kind = kind;
+            this.amount = amount;
+            this.loan = loan;
+        }
+    }
+
+    private final LocalDate today;
+    private final ProjectionEngine assets;
+    private final List<Event> schedule;
+    private final double[] loanBalance;
+    private final double[] loanRate;        // monthly
+    private final double[] loanPayment;
+
+    private CashFlowSimulator(LocalDate today, ProjectionEngine assets, List<Event> schedule,
+                              double[] loanBalance, double[] loanRate, double[] loanPayment) {
+        this.today = today;
+        this.assets = assets;
+        this.schedule = schedule;
+        this.loanBalance = loanBalance;
+        this.loanRate = loanRate;
+        this.loanPayment = loanPayment;
+    }
+
+    /**
+     * @param snapshot active records valued as of today (live loan balances, today's asset values)
+     */
+    public static CashFlowSimulator of(HouseholdSnapshot snapshot, ExchangeRates rates, LocalDate today) {
+        YearMonth now = YearMonth.from(today);
+        List<Event> schedule = new ArrayList<>();
+
+        for (Income income : snapshot.incomes()) {
+            addFlow(schedule, now, Kind.INCOME, income.getAmount(), income.getStartDate(), periodOf(income.getFrequency()));
+        }
+        for (Expense expense : snapshot.expenses()) {
+            addFlow(schedule, now, Kind.EXPENSE, expense.getAmount(), expense.getStartDate(), periodOf(expense.getFrequency()));
+        }
+
+        for (Insurance policy : snapshot.insurances()) {
+            int anniversary = policy.getStartDate() != null ? policy.getStartDate().getMonthValue() : 1;
+            int maturityMonth = policy.getMaturityYear() != null
+                    ? (int) ChronoUnit.MONTHS.between(now, YearMonth.of(policy.getMaturityYear(), anniversary))
+                    : Integer.MAX_VALUE;
+            int period = periodOf(policy.getPremiumFrequency());
+            int first = firstOccurrence(now, policy.getStartDate(), period);
+            if (policy.getPremiumAmount() != null && policy.getPremiumAmount().signum() > 0 && period > 0
+                    && first > 0 && first < maturityMonth) {
+                schedule.add(new Event(first, period, maturityMonth - 1, Kind.PREMIUM,
+                        policy.getPremiumAmount().doubleValue(), -1));
+            }
+            if (policy.getMaturityBenefit() != null && maturityMonth >= 1 && maturityMonth != Integer.MAX_VALUE) {
+                schedule.add(new Event(maturityMonth, 0, maturityMonth, Kind.MATURITY,
+                        policy.getMaturityBenefit().doubleValue(), -1));
+            }
+        }
+
+        List<Liability> liabilities = snapshot.liabilities();
+        double[] balance = new double[liabilities.size()];
+        double[] rate = new double[liabilities.size()];
+        double[] payment = new double[liabilities.size()];
+        for (int i = 0; i < liabilities.size(); i++) {
+            Liability liability = liabilities.get(i);
+            balance[i] = value(liability.getRemainingAmount());
+            rate[i] = value(liability.getInterestRate()) / 100 / 12;
+            payment[i] = value(liability.getMonthlyPayment());
+            if (balance[i] > 0 && payment[i] > 0) {
+                int start = liability.getStartDate() != null
+                        ? Math.max(1, (int) ChronoUnit.MONTHS.between(now, YearMonth.from(liability.getStartDate())) + 1)
+                        : 1;
+                schedule.add(new Event(start, 1, Integer.MAX_VALUE, Kind.EMI, 0, i));
+            }
+        }
+
+        ProjectionEngine engine = ProjectionEngine.of(snapshot.assets(), List.of(), rates);
+        return new CashFlowSimulator(today, engine, schedule, balance, rate, payment);
+    }
+
+    public List<YearPoint> simulate(int years, SurplusRule rule) {
+        int months = years * 12;
+        double[] assetSeries = assets.assetSeries(months, ProjectionEngine.Resolution.MONTHLY);
+        double[] balance = loanBalance.clone();
+        double liabilities = 0;
+        for (double b : balance) {
+            liabilities += Math.max(b, 0);
+        }
+
+        PriorityQueue<Event> queue = new PriorityQueue<>(Math.max(schedule.size(), 1), Comparator.comparingInt(e -> e.month));
+        for (Event event : schedule) {
+            queue.add(new Event(event.month, event.period, event.lastMonth, event.kind, event.amount, event.loan));
+        }
+
+        double cashFactor = ProjectionEngine.growthFactor(rule.cashYearlyRate(), 1 / 12.0);
+        double investFactor = ProjectionEngine.growthFactor(rule.investYearlyRate(), 1 / 12.0);
+        double cash = 0;
+        double invested = 0;
+
+        double income = 0, expenses = 0, premiums = 0, loanPayments = 0, maturities = 0;
+        List<YearPoint> points = new ArrayList<>(years);
+
+        for (int month = 1; month <= months; month++) {
+            double inflow = 0;
+            double outflow = 0;
+            while (!queue.isEmpty() && queue.peek().month == month) {
+                Event event = queue.poll();
+                boolean again = true;
+                switch (event.kind) {
+                    case INCOME -> {
+                        income += event.amount;
+                        inflow += event.amount;
+                    }
+                    case EXPENSE -> {
+                        expenses += event.amount;
+                        outflow += event.amount;
+                    }
+                    case PREMIUM -> {
+                        premiums += event.amount;
+                        outflow += event.amount;
+                    }
+                    case MATURITY -> {
+                        maturities += event.amount;
+                        inflow += event.amount;
+                    }
+                    case EMI -> {
+                        int i = event.loan;
+                        double opening = balance[i];
+                        double interest = opening * loanRate[i];
+                        double paid;
+                        double closing;
+                        if (loanPayment[i] <= interest) {
+                            // Payment does not cover the interest: balance stays, as in AmortizationSchedule
+                            paid = loanPayment[i];
+                            closing = opening;
+                        } else {
+                            paid = Math.min(loanPayment[i], opening + interest);
+                            closing = opening + interest - paid;
+                        }
+                        if (closing < 0.005) {
+                            closing = 0;
+                            again = false;
+                        }
+                        balance[i] = closing;
+                        liabilities += closing - opening;
+                        loanPayments += paid;
+                        outflow += paid;
+                    }
+                }
+                if (again && event.period > 0 && event.month + event.period <= event.lastMonth) {
+                    event.month += event.period;
+                    queue.add(event);
+                }
+            }
+
+            cash *= cashFactor;
+            invested *= investFactor;
+            double net = inflow - outflow;
+            if (net >= 0) {
+                invested += net * rule.investShare();
+                cash += net * (1 - rule.investShare());
+            } else {
+                double deficit = -net;
+                double fromCash = Math.min(deficit, Math.max(cash, 0));
+                cash -= fromCash;
+                deficit -= fromCash;
+                double fromInvested = Math.min(deficit, invested);
+                invested -= fromInvested;
+                cash -= deficit - fromInvested;
+            }
+
+            if (month % 12 == 0) {
+                points.add(new YearPoint(today.getYear() + month / 12, income, expenses, premiums, loanPayments,
+                        maturities, income + maturities - expenses - premiums - loanPayments,
+                        cash, invested, assetSeries[month - 1], Math.max(liabilities, 0)));
+                income = expenses = premiums = loanPayments = maturities = 0;
+            }
+        }
+        return points;
+    }
+
+    private static void addFlow(List<Event> schedule, YearMonth now, Kind kind, BigDecimal amount, LocalDate start,
+                                int period) {
+        if (amount == null || amount.signum() <= 0 || period < 0) {
+            return;
+        }
+        int first = firstOccurrence(now, start, period);
+        if (first > 0) {
+            schedule.add(new Event(first, period, period == 0 ? first : Integer.MAX_VALUE, kind, amount.doubleValue(), -1));
+        }
+    }
+
+    /**
+     * First month (1 = next month) on or after which the item falls due, -1 for a one-off in the past
+     */
+    private static int firstOccurrence(YearMonth now, LocalDate start, int period) {
+        if (start == null) {
+            return 1;
+        }
+        int offset = (int) ChronoUnit.MONTHS.between(now, YearMonth.from(start));
+        if (offset >= 1) {
+            return offset;
+        }
+        if (period == 0) {
+            return -1;
+        }
+        int behind = 1 - offset;
+        return offset + (behind + period - 1) / period * period;
+    }
+
+    private static int periodOf(Income.Frequency frequency) {
+        if (frequency == null) return -1;
+        return switch (frequency) {
+            case MONTHLY -> 1;
+            case QUARTERLY -> 3;
+            case YEARLY -> 12;
+            case ONE_TIME -> 0;
+        };
+    }
+
+    private static int periodOf(Expense.Frequency frequency) {
+        if (frequency == null) return -1;
+        return switch (frequency) {
+            case MONTHLY -> 1;
+            case QUARTERLY -> 3;
+            case YEARLY -> 12;
+            case ONE_TIME -> 0;
+        };
+    }
+
+    private static int periodOf(Insurance.PremiumFrequency frequency) {
+        if (frequency == null) return 0;
+        return switch (frequency) {
+            case MONTHLY -> 1;
+            case QUARTERLY -> 3;
+            case HALF_YEARLY -> 6;
+            case YEARLY -> 12;
+        };
+    }
+
+    private static double value(BigDecimal amount) {
+        return amount != null ? amount.doubleValue() : 0;
+    }
+}
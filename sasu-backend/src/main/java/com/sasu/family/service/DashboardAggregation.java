@@ -0,0 +1,169 @@
+package com.sasu.family.service;
+
+import com.sasu.family.dto.AssetSummaryDTO;
+import com.sasu.family.dto.LiabilitySummaryDTO;
+import com.sasu.family.dto.MonthlyBurdenDetailDTO;
+import com.sasu.family.model.Asset;
+import com.sasu.family.model.HouseholdAggregate;
+import com.sasu.family.model.Insurance;
+import com.sasu.family.model.Liability;
+import com.sasu.family.util.ExchangeRates;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Dashboard Aggregation
+ *
+ * Single-pass accumulator for the dashboard.
+ *
+ * Totals and pillar inputs live in a {@link HouseholdAggregate}; per-type
+ * asset and liability summaries and monthly burden details are gathered
+ * alongside while each record is visited once.
+ *
+ * The totals either come pre-computed from the household_aggregates table
+ * (live dashboard) or are accumulated from a full snapshot.
+ *
+ * All amounts are reported in the base currency. Asset values are summed
+ * per (type, currency) and each sum is converted once.
+ */
+public class DashboardAggregation {
+
+    private final HouseholdAggregate totals;
+    private final ExchangeRates rates;
+    private final Map<Asset.AssetType, Integer> assetCounts = new EnumMap<>(Asset.AssetType.class);
+    private final Map<Asset.AssetType, Map<String, BigDecimal>> assetValues = new EnumMap<>(Asset.AssetType.class);
+    private final Map<Liability.LiabilityType, LiabilitySummaryDTO> liabilitiesByType = new EnumMap<>(Liability.LiabilityType.class);
+    private final List<MonthlyBurdenDetailDTO> monthlyBurdenDetails = new ArrayList<>();
+
+    private DashboardAggregation(HouseholdAggregate totals, ExchangeRates rates) {
+        this.totals = totals;
+        this.rates = rates;
+    }
+
+    /**
+     * Accumulate totals and breakdowns from every record in the snapshot
+     */
+    public static DashboardAggregation of(HouseholdSnapshot snapshot, ExchangeRates rates) {
+        HouseholdAggregate totals = HouseholdAggregatesService.totalsInBase(
+                HouseholdAggregatesService.compute(snapshot).values(), rates);
+        return of(totals, snapshot.assets(), snapshot.liabilities(), rates);
+    }
+
+    /**
+     * Use pre-computed base-currency totals and only walk assets and liabilities for the breakdowns
+     */
+    public static DashboardAggregation of(HouseholdAggregate totals, List<Asset> assets, List<Liability> liabilities,
+                                          ExchangeRates rates) {
+        DashboardAggregation aggregation = new DashboardAggregation(totals, rates);
+        assets.forEach(aggregation::addAsset);
+        liabilities.forEach(aggregation::addLiability);
+        return aggregation;
+    }
+
+    private void addAsset(Asset asset) {
+        assetCounts.merge(asset.getType(), 1, Integer::sum);
+        assetValues.computeIfAbsent(asset.getType(), type -> new TreeMap<>())
+                .merge(HouseholdAggregate.currencyOf(asset), orZero(asset.getCurrentValue()), BigDecimal::add);
+    }
+
+    private void addLiability(Liability liability) {
+        BigDecimal remaining = orZero(liability.getRemainingAmount());
+        BigDecimal payment = orZero(liability.getMonthlyPayment());
+
+        LiabilitySummaryDTO summary = liabilitiesByType.computeIfAbsent(liability.getType(), type -> LiabilitySummaryDTO.builder()
+                .type(type.name())
+                .count(0)
+                .totalRemaining(BigDecimal.ZERO)
+                .monthlyBurden(BigDecimal.ZERO)
+                .build());
+        summary.setCount(summary.getCount() + 1);
+        summary.setTotalRemaining(summary.getTotalRemaining().add(remaining));
+        summary.setMonthlyBurden(summary.getMonthlyBurden().add(payment));
+
+        if (payment.signum() > 0) {
+            monthlyBurdenDetails.add(MonthlyBurdenDetailDTO.builder()
+                    .liabilityName(liability.getName())
+                    .type(liability.getType().name())
+                    .monthlyPayment(payment)
+                    .remainingAmount(liability.getRemainingAmount())
+                    .build());
+        }
+    }
+
+    public BigDecimal getTotalAssets() {
+        return totals.getTotalAssets();
+    }
+
+    public BigDecimal getLiquidAssets() {
+        return totals.getLiquidAssets();
+    }
+
+    public BigDecimal getTotalInvestments() {
+        return totals.getTotalInvestments();
+    }
+
+    public BigDecimal getTotalLiabilities() {
+        return totals.getTotalLiabilities();
+    }
+
+    public BigDecimal getMonthlyBurden() {
+        return totals.getMonthlyBurden();
+    }
+
+    public BigDecimal getTotalCoverage() {
+        return totals.getTotalCoverage();
+    }
+
+    public BigDecimal getMonthlyIncome() {
+        return totals.getMonthlyIncome();
+    }
+
+    public BigDecimal getMonthlyExpenses() {
+        return totals.getMonthlyExpenses();
+    }
+
+    public BigDecimal getMonthlyEssentialExpenses() {
+        return totals.getMonthlyEssentialExpenses();
+    }
+
+    public int getPolicyCount() {
+        return totals.getPolicyCount();
+    }
+
+    public boolean hasInsurance(Insurance.InsuranceType type) {
+        return totals.hasPolicyType(type);
+    }
+
+    public List<AssetSummaryDTO> getAssetSummaries() {
+        List<AssetSummaryDTO> summaries = new ArrayList<>(assetCounts.size());
+        assetCounts.forEach((type, count) -> {
+            BigDecimal total = BigDecimal.ZERO;
+            for (Map.Entry<String, BigDecimal> byCurrency : assetValues.get(type).entrySet()) {
+                total = total.add(rates.toBase(byCurrency.getValue(), byCurrency.getKey()));
+            }
+            summaries.add(AssetSummaryDTO.builder()
+                    .type(type.name())
+                    .count(count)
+                    .totalValue(total)
+                    .build());
+        });
+        return summaries;
+    }
+
+    public List<LiabilitySummaryDTO> getLiabilitySummaries() {
+        return new ArrayList<>(liabilitiesByType.values());
+    }
+
+    public List<MonthlyBurdenDetailDTO> getMonthlyBurdenDetails() {
+        return monthlyBurdenDetails;
+    }
+
+    private static BigDecimal orZero(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
+    }
+}
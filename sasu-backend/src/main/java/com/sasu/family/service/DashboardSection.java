@@ -0,0 +1,59 @@
+package com.sasu.family.service;
+
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Dashboard Section
+ *
+ * Independently computable parts of the dashboard summary, and the data
+ * each one depends on. A section's ETag only moves when one of its scopes does.
+ */
+public enum DashboardSection {
+
+    TOTALS(EnumSet.allOf(DataVersionService.Scope.class)),
+    SCORE(EnumSet.allOf(DataVersionService.Scope.class)),
+    ASSETS(EnumSet.of(DataVersionService.Scope.ASSETS, DataVersionService.Scope.CONFIG)),
+    LIABILITIES(EnumSet.of(DataVersionService.Scope.LIABILITIES, DataVersionService.Scope.CONFIG)),
+    BURDEN(EnumSet.of(DataVersionService.Scope.LIABILITIES, DataVersionService.Scope.CONFIG));
+
+    private final Set<DataVersionService.Scope> scopes;
+
+    DashboardSection(Set<DataVersionService.Scope> scopes) {
+        this.scopes = scopes;
+    }
+
+    public Set<DataVersionService.Scope> scopes() {
+        return scopes;
+    }
+
+    /**
+     * Name used in the sections query parameter and the response
+     */
+    public String key() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Parse a comma-separated list such as "totals,score", keeping request order
+     */
+    public static Set<DashboardSection> parse(String csv) {
+        Set<DashboardSection> sections = new LinkedHashSet<>();
+        for (String part : csv.split(",")) {
+            String name = part.trim();
+            if (name.isEmpty()) continue;
+            try {
+                sections.add(valueOf(name.toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown dashboard section: " + name
+                        + " (expected totals, score, assets, liabilities, burden)");
+            }
+        }
+        if (sections.isEmpty()) {
+            throw new IllegalArgumentException("At least one dashboard section is required");
+        }
+        return sections;
+    }
+}
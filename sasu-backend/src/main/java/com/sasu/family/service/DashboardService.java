@@ -2,24 +2,27 @@ package com.sasu.family.service;
 
 import com.sasu.family.dto.*;
 import com.sasu.family.model.Asset;
-import com.sasu.family.model.Expense;
-import com.sasu.family.model.Income;
+import com.sasu.family.model.HouseholdAggregate;
 import com.sasu.family.model.Insurance;
 import com.sasu.family.model.Liability;
 import com.sasu.family.repository.AssetRepository;
-import com.sasu.family.repository.ExpenseRepository;
-import com.sasu.family.repository.IncomeRepository;
-import com.sasu.family.repository.InsuranceRepository;
 import com.sasu.family.repository.LiabilityRepository;
+import com.sasu.family.util.ETags;
+import com.sasu.family.util.ExchangeRates;
+import com.sasu.family.util.LruCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.function.UnaryOperator;
 
 /**
  * Dashboard Service
@@ -30,108 +33,403 @@ import java.util.stream.Collectors;
  * - High assets increase score
  * - High liabilities reduce score
  * - Good insurance coverage boosts score
+ *
+ * Totals and pillar inputs are read from the household_aggregates table;
+ * assets and liabilities are folded through {@link DashboardAggregation}
+ * in a single pass for the per-type breakdowns.
+ *
+ * Auto-growth assets and auto-calculated liabilities are revalued for the
+ * requested date, and the totals corrected by the difference to their
+ * stored values.
+ *
+ * Amounts in other currencies are converted per currency row at the
+ * configured exchange rate. The summary is scored in the base currency
+ * (LKR) and then, if asked, restated in the reporting currency, so the
+ * score does not depend on the currency it is displayed in.
+ *
+ * Finished summaries are cached per (data version, as-of date, currency)
+ * and reused until any household data or configuration changes.
+ * Individual sections are cached per ETag, which only moves with the
+ * data that section reads (see {@link DashboardSection}).
  */
 @Service
 @RequiredArgsConstructor
 public class DashboardService {
 
+    private static final int SUMMARY_CACHE_SIZE = 16;
+    private static final int SECTION_CACHE_SIZE = 64;
+
     private final AssetRepository assetRepository;
     private final LiabilityRepository liabilityRepository;
-    private final InsuranceRepository insuranceRepository;
-    private final IncomeRepository incomeRepository;
-    private final ExpenseRepository expenseRepository;
+    private final HouseholdAggregatesService householdAggregatesService;
+    private final DataVersionService dataVersionService;
+    private final AppConfigService appConfigService;
 
-    public DashboardSummaryDTO getDashboardSummary() {
-        BigDecimal totalAssets = assetRepository.getTotalAssetValue();
-        BigDecimal totalLiabilities = liabilityRepository.getTotalLiabilities();
-        BigDecimal netWorth = totalAssets.subtract(totalLiabilities);
-        BigDecimal totalCoverage = insuranceRepository.getTotalCoverage();
-        BigDecimal monthlyBurden = liabilityRepository.getTotalMonthlyBurden();
+    private final AssetValuationService assetValuationService;
+    private final LiabilityAmortizationService liabilityAmortizationService;
 
-        // Calculate monthly income and expenses
-        BigDecimal monthlyIncome = calculateMonthlyIncome();
-        BigDecimal monthlyExpenses = calculateMonthlyExpenses();
+    private final LruCache<SummaryKey, DashboardSummaryDTO> summaryCache = new LruCache<>(SUMMARY_CACHE_SIZE);
+    private final LruCache<String, Object> sectionCache = new LruCache<>(SECTION_CACHE_SIZE);
 
-        // Calculate comprehensive score breakdown
-        ScoreBreakdownDTO scoreBreakdown = calculateScoreBreakdown(
-                totalAssets, totalLiabilities, netWorth, totalCoverage,
-                monthlyIncome, monthlyExpenses, monthlyBurden
-        );
+    /**
+     * Dashboard summary as of the current data version, with auto-growth
+     * assets valued on the given date and amounts in the given currency.
+     *
+     * The returned DTO is shared between callers until the next write,
+     * so it must be treated as read-only.
+     */
+    public DashboardSummaryDTO getDashboardSummary(LocalDate asOf, String currency) {
+        // Capture the version before reading the rates or loading, so a concurrent
+        // write (including a rate change) can only make the entry older
+        long version = dataVersionService.current();
+        ExchangeRates rates = appConfigService.getExchangeRates();
+        String reportingCurrency = rates.resolve(currency);
+        SummaryKey key = new SummaryKey(version, asOf, reportingCurrency);
+        return summaryCache.computeIfAbsent(key, k -> HouseholdAggregate.BASE_CURRENCY.equals(k.currency())
+                ? computeSummary(k.asOf(), rates)
+                : inCurrency(getDashboardSummary(k.asOf(), HouseholdAggregate.BASE_CURRENCY), rates, k.currency()));
+    }
 
-        // Calculate overall wealth score from breakdown
-        int wealthScore = scoreBreakdown.getNetWorthScore()
-                + scoreBreakdown.getCashFlowScore()
-                + scoreBreakdown.getDebtScore()
-                + scoreBreakdown.getLiquidityScore()
-                + scoreBreakdown.getInvestmentScore()
-                + scoreBreakdown.getProtectionScore();
+    /**
+     * Totals and pillar inputs come from the household_aggregates rows;
+     * only assets and liabilities are walked, for the per-type breakdowns
+     */
+    private DashboardSummaryDTO computeSummary(LocalDate asOf, ExchangeRates rates) {
+        Map<String, HouseholdAggregate> rows = householdAggregatesService.getRowCopies();
+        List<Asset> assets = revalueAssets(rows, assetRepository.findByActiveTrue(), asOf);
+        List<Liability> liabilities = revalueLiabilities(
+                rows.computeIfAbsent(HouseholdAggregate.BASE_CURRENCY, HouseholdAggregate::empty),
+                liabilityRepository.findByActiveTrue(), asOf);
+        HouseholdAggregate totals = HouseholdAggregatesService.totalsInBase(rows.values(), rates);
+        DashboardAggregation aggregation = DashboardAggregation.of(totals, assets, liabilities, rates);
+        return buildSummary(aggregation);
+    }
 
-        String wealthLabel = getWealthLabel(wealthScore);
-        String readiness = getFutureReadiness(wealthScore, totalCoverage);
-        String message = getMotivationalMessage(wealthScore);
+    /**
+     * Summary of an arbitrary snapshot (e.g. a what-if overlay), accumulated
+     * from its records rather than the stored totals and never cached.
+     * The snapshot must already carry as-of values.
+     */
+    public DashboardSummaryDTO evaluate(HouseholdSnapshot snapshot, ExchangeRates rates, String currency) {
+        String reportingCurrency = rates.resolve(currency);
+        DashboardSummaryDTO base = buildSummary(DashboardAggregation.of(snapshot, rates));
+        return HouseholdAggregate.BASE_CURRENCY.equals(reportingCurrency)
+                ? base
+                : inCurrency(base, rates, reportingCurrency);
+    }
 
-        List<AssetSummaryDTO> assetSummaries = getAssetSummaries();
-        List<LiabilitySummaryDTO> liabilitySummaries = getLiabilitySummaries();
-        long insuranceCount = insuranceRepository.findByActiveTrue().size();
-        List<MonthlyBurdenDetailDTO> monthlyBurdenDetails = getMonthlyBurdenDetails();
+    /**
+     * Replace stored values of auto-growth assets with their as-of values,
+     * correcting the stored row of the asset's currency by the difference
+     */
+    private List<Asset> revalueAssets(Map<String, HouseholdAggregate> rows, List<Asset> assets, LocalDate asOf) {
+        List<Asset> valued = new ArrayList<>(assets.size());
+        for (Asset asset : assets) {
+            Asset live = assetValuationService.valuedCopy(asset, asOf);
+            if (live != asset) {
+                HouseholdAggregate row = rows.computeIfAbsent(HouseholdAggregate.currencyOf(asset), HouseholdAggregate::empty);
+                row.apply(asset, -1);
+                row.apply(live, 1);
+            }
+            valued.add(live);
+        }
+        return valued;
+    }
 
-        return DashboardSummaryDTO.builder()
-                .totalAssets(totalAssets)
-                .totalLiabilities(totalLiabilities)
-                .netWorth(netWorth)
-                .totalInsuranceCoverage(totalCoverage)
-                .totalMonthlyBurden(monthlyBurden)
-                .monthlyIncome(monthlyIncome)
-                .monthlyExpenses(monthlyExpenses)
-                .wealthHealthScore(wealthScore)
-                .wealthHealthLabel(wealthLabel)
-                .futureReadinessStatus(readiness)
-                .scoreBreakdown(scoreBreakdown)
-                .assetsByType(assetSummaries)
-                .liabilitiesByType(liabilitySummaries)
-                .totalInsurancePolicies((int) insuranceCount)
-                .motivationalMessage(message)
-                .monthlyBurdenDetails(monthlyBurdenDetails)
+    /**
+     * Replace stored balances of auto-calculated liabilities with their live
+     * balances (paid-off loans drop out of the monthly burden)
+     */
+    private List<Liability> revalueLiabilities(HouseholdAggregate totals, List<Liability> liabilities, LocalDate asOf) {
+        List<Liability> valued = new ArrayList<>(liabilities.size());
+        for (Liability liability : liabilities) {
+            Liability live = liabilityAmortizationService.valuedCopy(liability, asOf);
+            if (live != liability) {
+                totals.apply(liability, -1);
+                totals.apply(live, 1);
+            }
+            valued.add(live);
+        }
+        return valued;
+    }
+
+    /**
+     * Only the requested sections, each computed on first request and cached
+     * under its own ETag. Sections that were not asked for are never computed,
+     * and "totals" / "score" read only the auto-valued records.
+     */
+    public DashboardSectionsDTO getDashboardSections(Set<DashboardSection> sections, LocalDate asOf, String currency) {
+        // Stamp before reading the rates or loading, as for the full summary
+        Map<DashboardSection, String> stamps = new EnumMap<>(DashboardSection.class);
+        for (DashboardSection section : sections) {
+            stamps.put(section, dataVersionService.stamp(section.scopes()));
+        }
+        ExchangeRates rates = appConfigService.getExchangeRates();
+        String reportingCurrency = rates.resolve(currency);
+        UnaryOperator<BigDecimal> fx = amount -> rates.fromBase(amount, reportingCurrency);
+        SectionInputs inputs = new SectionInputs(asOf, rates);
+
+        Map<String, DashboardSectionsDTO.Section> result = new LinkedHashMap<>();
+        for (DashboardSection section : sections) {
+            String etag = sectionETag(section, stamps.get(section), asOf, reportingCurrency);
+            Object data = sectionCache.computeIfAbsent(etag, k -> computeSection(section, inputs, fx));
+            result.put(section.key(), DashboardSectionsDTO.Section.builder()
+                    .etag(etag)
+                    .data(data)
+                    .build());
+        }
+
+        return DashboardSectionsDTO.builder()
+                .currency(reportingCurrency)
+                .asOf(asOf)
+                .sections(result)
                 .build();
     }
 
-    private BigDecimal calculateMonthlyIncome() {
-        List<Income> incomes = incomeRepository.findByActiveTrue();
-        return incomes.stream()
-                .map(Income::getMonthlyAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    /**
+     * ETag of the full summary, known without loading anything
+     */
+    public String summaryETag(LocalDate asOf, String currency) {
+        String reportingCurrency = appConfigService.getExchangeRates().resolve(currency);
+        return ETags.strong("summary", dataVersionService.stamp(DataVersionService.Scope.values()), asOf, reportingCurrency);
+    }
+
+    /**
+     * ETag of a sections response: combines the ETags of the requested sections
+     */
+    public String sectionsETag(Set<DashboardSection> sections, LocalDate asOf, String currency) {
+        String reportingCurrency = appConfigService.getExchangeRates().resolve(currency);
+        return ETags.strong(sections.stream()
+                .map(section -> sectionETag(section, asOf, reportingCurrency))
+                .toArray());
+    }
+
+    /**
+     * Moves only with the data scopes the section reads
+     */
+    private String sectionETag(DashboardSection section, LocalDate asOf, String currency) {
+        return sectionETag(section, dataVersionService.stamp(section.scopes()), asOf, currency);
     }
 
-    private BigDecimal calculateMonthlyExpenses() {
-        List<Expense> expenses = expenseRepository.findByActiveTrue();
-        return expenses.stream()
-                .map(Expense::getMonthlyAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    private static String sectionETag(DashboardSection section, String stamp, LocalDate asOf, String currency) {
+        return ETags.strong(section.key(), stamp, asOf, currency);
+    }
+
+    private Object computeSection(DashboardSection section, SectionInputs inputs, UnaryOperator<BigDecimal> fx) {
+        return switch (section) {
+            case TOTALS -> convertTotals(buildTotals(inputs.totals()), fx);
+            case SCORE -> convertScore(buildScore(inputs.totals()), fx);
+            case ASSETS -> convertAssets(inputs.assets().getAssetSummaries(), fx);
+            case LIABILITIES -> convertLiabilities(inputs.liabilities().getLiabilitySummaries(), fx);
+            case BURDEN -> convertBurden(inputs.liabilities().getMonthlyBurdenDetails(), fx);
+        };
+    }
+
+    /**
+     * Inputs shared by the sections of one request, each loaded on first use
+     */
+    private final class SectionInputs {
+
+        private final LocalDate asOf;
+        private final ExchangeRates rates;
+        private DashboardAggregation totals;
+        private DashboardAggregation assets;
+        private DashboardAggregation liabilities;
+
+        SectionInputs(LocalDate asOf, ExchangeRates rates) {
+            this.asOf = asOf;
+            this.rates = rates;
+        }
+
+        DashboardAggregation totals() {
+            if (totals == null) {
+                // Only auto-valued records can differ from the stored running totals
+                Map<String, HouseholdAggregate> rows = householdAggregatesService.getRowCopies();
+                revalueAssets(rows, assetRepository.findByActiveTrueAndAutoGrowthTrue(), asOf);
+                revalueLiabilities(rows.computeIfAbsent(HouseholdAggregate.BASE_CURRENCY, HouseholdAggregate::empty),
+                        liabilityRepository.findByActiveTrueAndAutoCalculateTrue(), asOf);
+                totals = DashboardAggregation.of(HouseholdAggregatesService.totalsInBase(rows.values(), rates),
+                        List.of(), List.of(), rates);
+            }
+            return totals;
+        }
+
+        DashboardAggregation assets() {
+            if (assets == null) {
+                assets = DashboardAggregation.of(HouseholdAggregate.empty(HouseholdAggregate.BASE_CURRENCY),
+                        assetValuationService.valuedCopies(assetRepository.findByActiveTrue(), asOf),
+                        List.of(), rates);
+            }
+            return assets;
+        }
+
+        DashboardAggregation liabilities() {
+            if (liabilities == null) {
+                liabilities = DashboardAggregation.of(HouseholdAggregate.empty(HouseholdAggregate.BASE_CURRENCY),
+                        List.of(),
+                        liabilityAmortizationService.valuedCopies(liabilityRepository.findByActiveTrue(), asOf),
+                        rates);
+            }
+            return liabilities;
+        }
     }
 
     /**
-     * Calculate monthly essential expenses (needs only) for emergency fund calculation
+     * Restate a base-currency summary in another currency; scores and ratios are unchanged
      */
-    private BigDecimal calculateMonthlyEssentialExpenses() {
-        List<Expense> expenses = expenseRepository.findByActiveTrue();
-        return expenses.stream()
-                .filter(Expense::isNeed)  // Only needs, not wants
-                .map(Expense::getMonthlyAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    private DashboardSummaryDTO inCurrency(DashboardSummaryDTO base, ExchangeRates rates, String currency) {
+        UnaryOperator<BigDecimal> fx = amount -> rates.fromBase(amount, currency);
+        return base.toBuilder()
+                .currency(currency)
+                .totalAssets(fx.apply(base.getTotalAssets()))
+                .totalLiabilities(fx.apply(base.getTotalLiabilities()))
+                .netWorth(fx.apply(base.getNetWorth()))
+                .totalInsuranceCoverage(fx.apply(base.getTotalInsuranceCoverage()))
+                .totalMonthlyBurden(fx.apply(base.getTotalMonthlyBurden()))
+                .monthlyIncome(fx.apply(base.getMonthlyIncome()))
+                .monthlyExpenses(fx.apply(base.getMonthlyExpenses()))
+                .scoreBreakdown(convertScoreBreakdown(base.getScoreBreakdown(), fx))
+                .assetsByType(convertAssets(base.getAssetsByType(), fx))
+                .liabilitiesByType(convertLiabilities(base.getLiabilitiesByType(), fx))
+                .monthlyBurdenDetails(convertBurden(base.getMonthlyBurdenDetails(), fx))
+                .build();
+    }
+
+    private static DashboardTotalsDTO convertTotals(DashboardTotalsDTO totals, UnaryOperator<BigDecimal> fx) {
+        return totals.toBuilder()
+                .totalAssets(fx.apply(totals.getTotalAssets()))
+                .totalLiabilities(fx.apply(totals.getTotalLiabilities()))
+                .netWorth(fx.apply(totals.getNetWorth()))
+                .totalInsuranceCoverage(fx.apply(totals.getTotalInsuranceCoverage()))
+                .totalMonthlyBurden(fx.apply(totals.getTotalMonthlyBurden()))
+                .monthlyIncome(fx.apply(totals.getMonthlyIncome()))
+                .monthlyExpenses(fx.apply(totals.getMonthlyExpenses()))
+                .build();
+    }
+
+    private static DashboardScoreDTO convertScore(DashboardScoreDTO score, UnaryOperator<BigDecimal> fx) {
+        return score.toBuilder()
+                .scoreBreakdown(convertScoreBreakdown(score.getScoreBreakdown(), fx))
+                .build();
+    }
+
+    private static ScoreBreakdownDTO convertScoreBreakdown(ScoreBreakdownDTO score, UnaryOperator<BigDecimal> fx) {
+        return score.toBuilder()
+                .netWorthValue(fx.apply(score.getNetWorthValue()))
+                .monthlySurplus(fx.apply(score.getMonthlySurplus()))
+                .liquidAssets(fx.apply(score.getLiquidAssets()))
+                .totalInvestments(fx.apply(score.getTotalInvestments()))
+                .build();
+    }
+
+    private static List<AssetSummaryDTO> convertAssets(List<AssetSummaryDTO> summaries, UnaryOperator<BigDecimal> fx) {
+        return summaries.stream()
+                .map(summary -> AssetSummaryDTO.builder()
+                        .type(summary.getType())
+                        .count(summary.getCount())
+                        .totalValue(fx.apply(summary.getTotalValue()))
+                        .growthPercentage(summary.getGrowthPercentage())
+                        .build())
+                .toList();
+    }
+
+    private static List<LiabilitySummaryDTO> convertLiabilities(List<LiabilitySummaryDTO> summaries, UnaryOperator<BigDecimal> fx) {
+        return summaries.stream()
+                .map(summary -> LiabilitySummaryDTO.builder()
+                        .type(summary.getType())
+                        .count(summary.getCount())
+                        .totalRemaining(fx.apply(summary.getTotalRemaining()))
+                        .monthlyBurden(fx.apply(summary.getMonthlyBurden()))
+                        .build())
+                .toList();
+    }
+
+    private static List<MonthlyBurdenDetailDTO> convertBurden(List<MonthlyBurdenDetailDTO> details, UnaryOperator<BigDecimal> fx) {
+        return details.stream()
+                .map(detail -> MonthlyBurdenDetailDTO.builder()
+                        .liabilityName(detail.getLiabilityName())
+                        .type(detail.getType())
+                        .monthlyPayment(fx.apply(detail.getMonthlyPayment()))
+                        .remainingAmount(fx.apply(detail.getRemainingAmount()))
+                        .build())
+                .toList();
+    }
+
+    private DashboardSummaryDTO buildSummary(DashboardAggregation aggregation) {
+        DashboardTotalsDTO totals = buildTotals(aggregation);
+        DashboardScoreDTO score = buildScore(aggregation);
+
+        return DashboardSummaryDTO.builder()
+                .currency(HouseholdAggregate.BASE_CURRENCY)
+                .totalAssets(totals.getTotalAssets())
+                .totalLiabilities(totals.getTotalLiabilities())
+                .netWorth(totals.getNetWorth())
+                .totalInsuranceCoverage(totals.getTotalInsuranceCoverage())
+                .totalMonthlyBurden(totals.getTotalMonthlyBurden())
+                .monthlyIncome(totals.getMonthlyIncome())
+                .monthlyExpenses(totals.getMonthlyExpenses())
+                .wealthHealthScore(score.getWealthHealthScore())
+                .wealthHealthLabel(score.getWealthHealthLabel())
+                .futureReadinessStatus(score.getFutureReadinessStatus())
+                .scoreBreakdown(score.getScoreBreakdown())
+                .assetsByType(aggregation.getAssetSummaries())
+                .liabilitiesByType(aggregation.getLiabilitySummaries())
+                .totalInsurancePolicies(totals.getTotalInsurancePolicies())
+                .motivationalMessage(score.getMotivationalMessage())
+                .monthlyBurdenDetails(aggregation.getMonthlyBurdenDetails())
+                .build();
+    }
+
+    private DashboardTotalsDTO buildTotals(DashboardAggregation aggregation) {
+        BigDecimal totalAssets = aggregation.getTotalAssets();
+        BigDecimal totalLiabilities = aggregation.getTotalLiabilities();
+
+        return DashboardTotalsDTO.builder()
+                .totalAssets(totalAssets)
+                .totalLiabilities(totalLiabilities)
+                .netWorth(totalAssets.subtract(totalLiabilities))
+                .totalInsuranceCoverage(aggregation.getTotalCoverage())
+                .totalMonthlyBurden(aggregation.getMonthlyBurden())
+                .monthlyIncome(aggregation.getMonthlyIncome())
+                .monthlyExpenses(aggregation.getMonthlyExpenses())
+                .totalInsurancePolicies(aggregation.getPolicyCount())
+                .build();
+    }
+
+    private DashboardScoreDTO buildScore(DashboardAggregation aggregation) {
+        BigDecimal netWorth = aggregation.getTotalAssets().subtract(aggregation.getTotalLiabilities());
+
+        // Calculate comprehensive score breakdown
+        ScoreBreakdownDTO scoreBreakdown = calculateScoreBreakdown(aggregation, netWorth);
+
+        // Calculate overall wealth score from breakdown
+        int wealthScore = scoreBreakdown.getNetWorthScore()
+                + scoreBreakdown.getCashFlowScore()
+                + scoreBreakdown.getDebtScore()
+                + scoreBreakdown.getLiquidityScore()
+                + scoreBreakdown.getInvestmentScore()
+                + scoreBreakdown.getProtectionScore();
+
+        return DashboardScoreDTO.builder()
+                .wealthHealthScore(wealthScore)
+                .wealthHealthLabel(getWealthLabel(wealthScore))
+                .futureReadinessStatus(getFutureReadiness(wealthScore, aggregation.getTotalCoverage()))
+                .motivationalMessage(getMotivationalMessage(wealthScore))
+                .scoreBreakdown(scoreBreakdown)
+                .build();
     }
 
     /**
      * Calculate comprehensive wealth health score using 6 pillars
      */
-    private ScoreBreakdownDTO calculateScoreBreakdown(
-            BigDecimal totalAssets,
-            BigDecimal totalLiabilities,
-            BigDecimal netWorth,
-            BigDecimal totalCoverage,
-            BigDecimal monthlyIncome,
-            BigDecimal monthlyExpenses,
-            BigDecimal monthlyBurden
-    ) {
+    private ScoreBreakdownDTO calculateScoreBreakdown(DashboardAggregation aggregation, BigDecimal netWorth) {
+        BigDecimal totalAssets = aggregation.getTotalAssets();
+        BigDecimal totalLiabilities = aggregation.getTotalLiabilities();
+        BigDecimal totalCoverage = aggregation.getTotalCoverage();
+        BigDecimal monthlyIncome = aggregation.getMonthlyIncome();
+        BigDecimal monthlyExpenses = aggregation.getMonthlyExpenses();
+        BigDecimal monthlyBurden = aggregation.getMonthlyBurden();
+
         // 1. NET WORTH GROWTH SCORE (25 points max)
         int netWorthScore = calculateNetWorthScore(netWorth, totalAssets);
         String netWorthStatus = getStatus(netWorthScore, 25);
@@ -155,8 +453,8 @@ public class DashboardService {
         String debtStatus = getDebtStatus(debtToIncomeRatio);
 
         // 4. LIQUIDITY (15 points max)
-        BigDecimal liquidAssets = calculateLiquidAssets();
-        BigDecimal monthlyEssentialExpenses = calculateMonthlyEssentialExpenses();
+        BigDecimal liquidAssets = aggregation.getLiquidAssets();
+        BigDecimal monthlyEssentialExpenses = aggregation.getMonthlyEssentialExpenses();
         BigDecimal emergencyFundMonths = monthlyEssentialExpenses.compareTo(BigDecimal.ZERO) > 0
                 ? liquidAssets.divide(monthlyEssentialExpenses, 1, RoundingMode.HALF_UP)
                 : BigDecimal.ZERO;
@@ -164,7 +462,7 @@ public class DashboardService {
         String liquidityStatus = getLiquidityStatus(emergencyFundMonths);
 
         // 5. INVESTMENT EFFICIENCY (15 points max)
-        BigDecimal totalInvestments = calculateTotalInvestments();
+        BigDecimal totalInvestments = aggregation.getTotalInvestments();
         BigDecimal investmentRatio = totalAssets.compareTo(BigDecimal.ZERO) > 0
                 ? totalInvestments.divide(totalAssets, 4, RoundingMode.HALF_UP).multiply(BigDecimal.valueOf(100))
                 : BigDecimal.ZERO;
@@ -178,11 +476,11 @@ public class DashboardService {
                 : BigDecimal.ZERO;
 
         // Check all insurance types
-        boolean hasHealthIns = hasInsuranceType("MEDICAL");
-        boolean hasLifeIns = hasInsuranceType("LIFE");
-        boolean hasEducationIns = hasInsuranceType("EDUCATION");
-        boolean hasVehicleIns = hasInsuranceType("VEHICLE");
-        boolean hasHomeIns = hasInsuranceType("HOME");
+        boolean hasHealthIns = aggregation.hasInsurance(Insurance.InsuranceType.MEDICAL);
+        boolean hasLifeIns = aggregation.hasInsurance(Insurance.InsuranceType.LIFE);
+        boolean hasEducationIns = aggregation.hasInsurance(Insurance.InsuranceType.EDUCATION);
+        boolean hasVehicleIns = aggregation.hasInsurance(Insurance.InsuranceType.VEHICLE);
+        boolean hasHomeIns = aggregation.hasInsurance(Insurance.InsuranceType.HOME);
 
         int protectionScore = calculateProtectionScore(coverageRatio, hasHealthIns, hasLifeIns,
                 hasEducationIns, hasVehicleIns, hasHomeIns);
@@ -220,119 +518,38 @@ public class DashboardService {
     private int calculateNetWorthScore(BigDecimal netWorth, BigDecimal totalAssets) {
         if (netWorth.compareTo(BigDecimal.ZERO) <= 0) return 0;
         if (totalAssets.compareTo(BigDecimal.ZERO) == 0) return 0;
-
-        // Positive net worth starts at 10 points
-        int baseScore = 10;
-
-        // Add points based on net worth to assets ratio
         BigDecimal netWorthRatio = netWorth.divide(totalAssets, 4, RoundingMode.HALF_UP);
-        int ratioPoints = Math.min(10, netWorthRatio.multiply(BigDecimal.valueOf(20)).intValue());
-
-        // Add points for absolute net worth (every 1M = 1 point, max 5)
-        int absolutePoints = Math.min(5, netWorth.divide(BigDecimal.valueOf(1000000), 0, RoundingMode.DOWN).intValue());
-
-        return Math.min(25, baseScore + ratioPoints + absolutePoints);
+        return WealthScore.netWorthScore(netWorth.doubleValue(), totalAssets.doubleValue(), netWorthRatio.doubleValue());
     }
 
     // 2. Cash Flow Score (0-20)
     private int calculateCashFlowScore(BigDecimal savingsRate) {
-        if (savingsRate.compareTo(BigDecimal.ZERO) <= 0) return 0;
-        if (savingsRate.compareTo(BigDecimal.valueOf(10)) < 0) return 5;  // < 10% weak
-        if (savingsRate.compareTo(BigDecimal.valueOf(20)) < 0) return 12; // 10-20% average
-        if (savingsRate.compareTo(BigDecimal.valueOf(30)) < 0) return 16; // 20-30% strong
-        return 20; // 30%+ excellent
+        return WealthScore.cashFlowScore(savingsRate.doubleValue());
     }
 
     // 3. Debt Score (0-15)
     private int calculateDebtScore(BigDecimal debtToIncomeRatio, BigDecimal debtRatio) {
-        int score = 15;
-
-        // Penalty based on debt-to-income ratio
-        if (debtToIncomeRatio.compareTo(BigDecimal.valueOf(30)) >= 0) {
-            score -= 7; // High DTI
-        } else if (debtToIncomeRatio.compareTo(BigDecimal.valueOf(20)) >= 0) {
-            score -= 3; // Moderate DTI
-        }
-
-        // Penalty based on debt ratio
-        if (debtRatio.compareTo(BigDecimal.valueOf(0.5)) >= 0) {
-            score -= 5; // Debt > 50% of assets
-        } else if (debtRatio.compareTo(BigDecimal.valueOf(0.3)) >= 0) {
-            score -= 2; // Debt 30-50% of assets
-        }
-
-        return Math.max(0, score);
+        return WealthScore.debtScore(debtToIncomeRatio.doubleValue(), debtRatio.doubleValue());
     }
 
     // 4. Liquidity Score (0-15)
     private int calculateLiquidityScore(BigDecimal emergencyMonths) {
-        if (emergencyMonths.compareTo(BigDecimal.valueOf(12)) >= 0) return 15; // 12+ months excellent
-        if (emergencyMonths.compareTo(BigDecimal.valueOf(6)) >= 0) return 12;  // 6-12 months strong
-        if (emergencyMonths.compareTo(BigDecimal.valueOf(3)) >= 0) return 8;   // 3-6 months stable
-        if (emergencyMonths.compareTo(BigDecimal.valueOf(1)) >= 0) return 4;   // 1-3 months weak
-        return 0; // < 1 month critical
+        return WealthScore.liquidityScore(emergencyMonths.doubleValue());
     }
 
     // 5. Investment Score (0-15)
     private int calculateInvestmentScore(BigDecimal investmentRatio) {
-        if (investmentRatio.compareTo(BigDecimal.valueOf(50)) >= 0) return 15; // 50%+ excellent
-        if (investmentRatio.compareTo(BigDecimal.valueOf(30)) >= 0) return 12; // 30-50% strong
-        if (investmentRatio.compareTo(BigDecimal.valueOf(15)) >= 0) return 8;  // 15-30% moderate
-        if (investmentRatio.compareTo(BigDecimal.valueOf(5)) >= 0) return 4;   // 5-15% weak
-        return 0; // < 5% poor
+        return WealthScore.investmentScore(investmentRatio.doubleValue());
     }
 
     // 6. Protection Score (0-10)
     private int calculateProtectionScore(BigDecimal coverageRatio, boolean hasHealth, boolean hasLife,
             boolean hasEducation, boolean hasVehicle, boolean hasHome) {
-        int score = 0;
-
-        // Coverage ratio points (max 4)
-        if (coverageRatio.compareTo(BigDecimal.valueOf(10)) >= 0) score += 4; // 10+ years covered
-        else if (coverageRatio.compareTo(BigDecimal.valueOf(5)) >= 0) score += 3; // 5-10 years
-        else if (coverageRatio.compareTo(BigDecimal.valueOf(2)) >= 0) score += 2; // 2-5 years
-        else if (coverageRatio.compareTo(BigDecimal.valueOf(1)) >= 0) score += 1; // 1-2 years
-
-        // Essential insurance points (max 6)
-        // Life & Health are most critical (2 points each)
-        if (hasLife) score += 2;
-        if (hasHealth) score += 2;
-
-        // Other important insurances (1 point each, max 2 additional)
-        int otherInsCount = 0;
-        if (hasEducation) otherInsCount++;
-        if (hasVehicle) otherInsCount++;
-        if (hasHome) otherInsCount++;
-        score += Math.min(2, otherInsCount); // Cap at 2 additional points
-
-        return Math.min(10, score);
+        return WealthScore.protectionScore(coverageRatio.doubleValue(), hasHealth, hasLife,
+                hasEducation, hasVehicle, hasHome);
     }
 
     // Helper methods
-    private BigDecimal calculateLiquidAssets() {
-        List<Asset> assets = assetRepository.findByActiveTrue();
-        // Sum all assets marked as liquid (cash, savings, short-term deposits, etc.)
-        return assets.stream()
-                .filter(a -> Boolean.TRUE.equals(a.getIsLiquid()))
-                .map(Asset::getCurrentValue)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-    }
-
-    private BigDecimal calculateTotalInvestments() {
-        List<Asset> assets = assetRepository.findByActiveTrue();
-        // Sum all assets marked as investments
-        return assets.stream()
-                .filter(a -> Boolean.TRUE.equals(a.getIsInvestment()))
-                .map(Asset::getCurrentValue)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-    }
-
-    private boolean hasInsuranceType(String type) {
-        List<Insurance> policies = insuranceRepository.findByActiveTrue();
-        return policies.stream()
-                .anyMatch(i -> i.getType().name().equals(type));
-    }
-
     private String getStatus(int score, int maxScore) {
         double percentage = (score * 100.0) / maxScore;
         if (percentage >= 80) return "Excellent";
@@ -399,67 +616,6 @@ public class DashboardService {
         }
     }
 
-    private List<AssetSummaryDTO> getAssetSummaries() {
-        List<Asset> assets = assetRepository.findByActiveTrue();
-        Map<Asset.AssetType, List<Asset>> grouped = assets.stream()
-                .collect(Collectors.groupingBy(Asset::getType));
-
-        return grouped.entrySet().stream()
-                .map(entry -> {
-                    BigDecimal total = entry.getValue().stream()
-                            .map(Asset::getCurrentValue)
-                            .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-                    return AssetSummaryDTO.builder()
-                            .type(entry.getKey().name())
-                            .count(entry.getValue().size())
-                            .totalValue(total)
-                            .build();
-                })
-                .collect(Collectors.toList());
-    }
-
-    private List<LiabilitySummaryDTO> getLiabilitySummaries() {
-        List<Liability> liabilities = liabilityRepository.findByActiveTrue();
-        Map<Liability.LiabilityType, List<Liability>> grouped = liabilities.stream()
-                .collect(Collectors.groupingBy(Liability::getType));
-
-        return grouped.entrySet().stream()
-                .map(entry -> {
-                    BigDecimal totalRemaining = entry.getValue().stream()
-                            .map(Liability::getRemainingAmount)
-                            .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-                    BigDecimal monthlyBurden = entry.getValue().stream()
-                            .map(l -> l.getMonthlyPayment() != null ? l.getMonthlyPayment() : BigDecimal.ZERO)
-                            .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-                    return LiabilitySummaryDTO.builder()
-                            .type(entry.getKey().name())
-                            .count(entry.getValue().size())
-                            .totalRemaining(totalRemaining)
-                            .monthlyBurden(monthlyBurden)
-                            .build();
-                })
-                .collect(Collectors.toList());
-    }
-
-    private List<MonthlyBurdenDetailDTO> getMonthlyBurdenDetails() {
-        List<Liability> liabilities = liabilityRepository.findByActiveTrue();
-        List<MonthlyBurdenDetailDTO> details = new ArrayList<>();
-        for (Liability l : liabilities) {
-            if (l.getMonthlyPayment() != null && l.getMonthlyPayment().signum() > 0) {
-                details.add(MonthlyBurdenDetailDTO.builder()
-                        .liabilityName(l.getName())
-                        .type(l.getType().name())
-                        .monthlyPayment(l.getMonthlyPayment())
-                        .remainingAmount(l.getRemainingAmount())
-                        .build());
-            }
-        }
-        return details;
-    }
-
     private String getMotivationalMessage(int score) {
         if (score >= 80) {
             return "Outstanding! Your family's financial future looks bright and secure.";
@@ -473,4 +629,7 @@ public class DashboardService {
             return "Every journey starts with a single step. Let's build your financial strength together.";
         }
     }
+
+    private record SummaryKey(long version, LocalDate asOf, String currency) {
+    }
 }
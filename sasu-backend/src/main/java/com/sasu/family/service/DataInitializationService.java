@@ -35,6 +35,7 @@ public class DataInitializationService implements CommandLineRunner {
     private final InsuranceRepository insuranceRepository;
     private final LiabilityRepository liabilityRepository;
     private final PasswordEncoder passwordEncoder;
+    private final HouseholdAggregatesService householdAggregatesService;
 
     @Override
     public void run(String... args) {
@@ -43,7 +44,12 @@ public class DataInitializationService implements CommandLineRunner {
             initializeAssets();
             initializeInsurance();
             initializeLiabilities();
+            // Seed rows bypass the services, so recompute running totals (also bumps data versions)
+            householdAggregatesService.rebuild();
             System.out.println("✅ Sample data initialized successfully!");
+        } else {
+            // Populate running totals on an upgraded database
+            householdAggregatesService.rebuildIfEmpty();
         }
     }
 
@@ -0,0 +1,97 @@
+package com.sasu.family.service;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Data Version Service
+ *
+ * Monotonic counters that move whenever household data changes.
+ *
+ * Every mutating path bumps the counter of the data it touched, and the
+ * global counter with it. Read-side caches remember the version they were
+ * computed at, so a cached result is valid exactly as long as the counter
+ * has not moved.
+ *
+ * Inside a transaction the bump is deferred until after commit, so a
+ * reader can never cache pre-commit data under the new version.
+ *
+ * Counters restart at zero with the process; {@link #stamp} prefixes them
+ * with a boot id so stamps handed to clients never repeat across restarts.
+ */
+@Service
+public class DataVersionService {
+
+    public enum Scope {
+        ASSETS,
+        LIABILITIES,
+        INSURANCE,
+        INCOMES,
+        EXPENSES,
+        CONFIG
+    }
+
+    private final String bootId = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong globalVersion = new AtomicLong();
+    private final Map<Scope, AtomicLong> scopeVersions = new EnumMap<>(Scope.class);
+
+    public DataVersionService() {
+        for (Scope scope : Scope.values()) {
+            scopeVersions.put(scope, new AtomicLong());
+        }
+    }
+
+    /**
+     * Version covering every scope
+     */
+    public long current() {
+        return globalVersion.get();
+    }
+
+    public long current(Scope scope) {
+        return scopeVersions.get(scope).get();
+    }
+
+    /**
+     * Opaque token that changes whenever any of the given scopes changes
+     */
+    public String stamp(Scope... scopes) {
+        return stamp(Arrays.asList(scopes));
+    }
+
+    public String stamp(Collection<Scope> scopes) {
+        StringBuilder stamp = new StringBuilder(bootId);
+        for (Scope scope : scopes) {
+            stamp.append('.').append(scope.ordinal()).append(':').append(current(scope));
+        }
+        return stamp.toString();
+    }
+
+    /**
+     * Record a change to the given scope
+     */
+    public void bump(Scope scope) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    increment(scope);
+                }
+            });
+        } else {
+            increment(scope);
+        }
+    }
+
+    private void increment(Scope scope) {
+        scopeVersions.get(scope).incrementAndGet();
+        globalVersion.incrementAndGet();
+    }
+}
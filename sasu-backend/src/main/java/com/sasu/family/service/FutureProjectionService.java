@@ -5,14 +5,21 @@ import com.sasu.family.model.Asset;
 import com.sasu.family.model.Insurance;
 import com.sasu.family.repository.AssetRepository;
 import com.sasu.family.repository.InsuranceRepository;
+import com.sasu.family.util.ExchangeRates;
+import com.sasu.family.util.LruCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.math.MathContext;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
 
 /**
  * Future Projection Service
@@ -21,72 +28,242 @@ import java.util.List;
  * - Insurance maturity
  * - EPF
  * - Asset appreciation
+ *
+ * Series are produced by {@link ProjectionEngine} at five-yearly (default),
+ * yearly or monthly resolution to any horizon up to 100 years, converted
+ * into the requested reporting currency.
+ *
+ * Results are cached per (asset, insurance and config versions, date,
+ * parameters, mode). The date is part of the key because auto-growth
+ * assets are valued as of today and the projected years count from the
+ * current one; entries of earlier days are dropped on the first request
+ * of a new day, which also covers the year rollover.
  */
 @Service
 @RequiredArgsConstructor
-public class FutureProjectionService {
+public class FutureProjectionService implements MetricsSource {
+
+    private static final int CACHE_SIZE = 32;
 
     private final AssetRepository assetRepository;
     private final InsuranceRepository insuranceRepository;
+    private final AssetValuationService assetValuationService;
+    private final AppConfigService appConfigService;
+    private final DataVersionService dataVersionService;
 
-    public FutureProjectionDTO getFutureProjections(int currentAge) {
-        List<FutureProjectionDTO.YearlyProjection> projections = new ArrayList<>();
-        int currentYear = LocalDate.now().getYear();
+    private final LruCache<ProjectionKey, FutureProjectionDTO> cache = new LruCache<>(CACHE_SIZE);
+    private volatile LocalDate cacheDay;
 
-        List<Asset> assets = assetRepository.findByActiveTrue();
-        List<Insurance> insurances = insuranceRepository.findByActiveTrue();
+    public static final int DEFAULT_HORIZON_YEARS = 30;
+    public static final int MAX_HORIZON_YEARS = 100;
+    public static final int RETIREMENT_AGE = 60;
 
-        // Project for next 30 years at 5-year intervals
-        for (int yearsAhead = 5; yearsAhead <= 30; yearsAhead += 5) {
-            int targetYear = currentYear + yearsAhead;
-            int targetAge = currentAge + yearsAhead;
+    public static final String MODE_DETERMINISTIC = "DETERMINISTIC";
+    public static final String MODE_MONTE_CARLO = "MONTE_CARLO";
 
-            BigDecimal assetValue = calculateAssetValue(assets, yearsAhead);
-            BigDecimal insuranceMaturity = calculateInsuranceMaturity(insurances, targetYear);
-            BigDecimal totalValue = assetValue.add(insuranceMaturity);
+    public FutureProjectionDTO getFutureProjections(int currentAge, String currency) {
+        return getFutureProjections(currentAge, currency, ProjectionEngine.Resolution.FIVE_YEARLY, DEFAULT_HORIZON_YEARS);
+    }
 
-            String milestone = getMilestone(targetAge);
+    public FutureProjectionDTO getFutureProjections(int currentAge, String currency,
+                                                    ProjectionEngine.Resolution resolution, int horizonYears) {
+        checkHorizon(horizonYears);
+        LocalDate today = LocalDate.now();
+        ProjectionKey key = key(today, currentAge, currency, resolution, horizonYears, MODE_DETERMINISTIC, 0, 0);
+        ExchangeRates rates = appConfigService.getExchangeRates();
+        String reportingCurrency = rates.resolve(currency);
+        return cached(key, () -> project(engine(today, rates), today, rates, currentAge, reportingCurrency,
+                resolution, horizonYears));
+    }
+
+    /**
+     * Deterministic projections from an engine built by the caller (e.g. over hypothetical data)
+     */
+    public FutureProjectionDTO project(ProjectionEngine engine, LocalDate today, ExchangeRates rates, int currentAge,
+                                       String currency, ProjectionEngine.Resolution resolution, int horizonYears) {
+        checkHorizon(horizonYears);
+        String reportingCurrency = rates.resolve(currency);
+        double perBaseUnit = perBaseUnit(rates, reportingCurrency);
+        int steps = horizonYears * 12 / resolution.monthsPerStep();
+        double[] assetSeries = engine.assetSeries(steps, resolution);
+
+        List<FutureProjectionDTO.YearlyProjection> projections = new ArrayList<>(steps);
+        BigDecimal totalFuture = BigDecimal.ZERO;
+        for (int step = 1; step <= steps; step++) {
+            YearMonth period = ProjectionEngine.periodOf(today, step, resolution);
+            int monthsAhead = step * resolution.monthsPerStep();
+            int targetAge = currentAge + monthsAhead / 12;
+
+            BigDecimal assetValue = amount(assetSeries[step - 1] * perBaseUnit);
+            BigDecimal insuranceMaturity = amount(engine.maturities(resolution, period) * perBaseUnit);
+            BigDecimal totalValue = assetValue.add(insuranceMaturity);
 
             projections.add(FutureProjectionDTO.YearlyProjection.builder()
-                    .year(targetYear)
+                    .year(period.getYear())
+                    .month(resolution == ProjectionEngine.Resolution.MONTHLY ? period.getMonthValue() : null)
                     .age(targetAge)
                     .insuranceMaturity(insuranceMaturity)
                     .assetValue(assetValue)
                     .totalValue(totalValue)
-                    .milestone(milestone)
+                    .milestone(monthsAhead % 12 == 0 ? getMilestone(targetAge) : "")
                     .build());
+            totalFuture = totalFuture.max(totalValue);
         }
 
-        BigDecimal totalFuture = projections.stream()
-                .map(FutureProjectionDTO.YearlyProjection::getTotalValue)
-                .reduce(BigDecimal.ZERO, BigDecimal::max);
-
         return FutureProjectionDTO.builder()
+                .currency(reportingCurrency)
+                .resolution(resolution.name())
+                .horizonYears(horizonYears)
+                .mode(MODE_DETERMINISTIC)
                 .projections(projections)
                 .totalFutureBenefits(totalFuture)
                 .summary("Your family's financial future is secure with growing assets and maturity benefits.")
                 .build();
     }
 
-    private BigDecimal calculateAssetValue(List<Asset> assets, int yearsAhead) {
-        return assets.stream()
-                .map(asset -> {
-                    BigDecimal value = asset.getCurrentValue();
-                    if (asset.getYearlyGrowthRate() != null) {
-                        BigDecimal growthRate = asset.getYearlyGrowthRate().divide(BigDecimal.valueOf(100), 4, RoundingMode.HALF_UP);
-                        BigDecimal multiplier = BigDecimal.ONE.add(growthRate).pow(yearsAhead);
-                        value = value.multiply(multiplier);
-                    }
-                    return value;
-                })
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    /**
+     * Monte Carlo projections: P10/P50/P90 of the total value per point.
+     * Insurance maturities are added to every path as they are contractual.
+     */
+    public FutureProjectionDTO getMonteCarloProjections(int currentAge, String currency,
+                                                        ProjectionEngine.Resolution resolution, int horizonYears,
+                                                        int paths, long seed) {
+        checkHorizon(horizonYears);
+        if (resolution == ProjectionEngine.Resolution.MONTHLY) {
+            throw new IllegalArgumentException("Monte Carlo projections run on yearly steps (use YEARLY or FIVE_YEARLY)");
+        }
+        if (paths < 1 || paths > MonteCarloSimulator.MAX_PATHS) {
+            throw new IllegalArgumentException("paths must be between 1 and " + MonteCarloSimulator.MAX_PATHS);
+        }
+        LocalDate today = LocalDate.now();
+        ProjectionKey key = key(today, currentAge, currency, resolution, horizonYears, MODE_MONTE_CARLO, paths, seed);
+        AppConfigSnapshot config = appConfigService.snapshot();
+        String reportingCurrency = config.getExchangeRates().resolve(currency);
+        return cached(key, () -> simulate(config, today, currentAge, reportingCurrency, resolution, horizonYears, paths, seed));
+    }
+
+    private FutureProjectionDTO simulate(AppConfigSnapshot config, LocalDate today, int currentAge,
+                                         String reportingCurrency, ProjectionEngine.Resolution resolution,
+                                         int horizonYears, int paths, long seed) {
+        ExchangeRates rates = config.getExchangeRates();
+        double perBaseUnit = perBaseUnit(rates, reportingCurrency);
+
+        List<Asset> assets = assetValuationService.valuedCopies(assetRepository.findByActiveTrue(), today);
+        ProjectionEngine engine = ProjectionEngine.of(assets, insuranceRepository.findByActiveTrue(), rates);
+        MonteCarloSimulator simulator = MonteCarloSimulator.of(assets, rates, monteCarloAssumptions(config));
+        int yearsPerStep = resolution.monthsPerStep() / 12;
+        double[][] bands = simulator.simulate(paths, horizonYears, yearsPerStep, seed);
+
+        List<FutureProjectionDTO.YearlyProjection> projections = new ArrayList<>(bands.length);
+        BigDecimal totalFuture = BigDecimal.ZERO;
+        for (int step = 1; step <= bands.length; step++) {
+            YearMonth period = ProjectionEngine.periodOf(today, step, resolution);
+            int targetAge = currentAge + step * yearsPerStep;
+            double[] band = bands[step - 1];
+            double maturity = engine.maturities(resolution, period);
+
+            BigDecimal median = amount((band[1] + maturity) * perBaseUnit);
+            projections.add(FutureProjectionDTO.YearlyProjection.builder()
+                    .year(period.getYear())
+                    .age(targetAge)
+                    .insuranceMaturity(amount(maturity * perBaseUnit))
+                    .assetValue(amount(band[1] * perBaseUnit))
+                    .totalValue(median)
+                    .milestone(getMilestone(targetAge))
+                    .p10(amount((band[0] + maturity) * perBaseUnit))
+                    .p50(median)
+                    .p90(amount((band[2] + maturity) * perBaseUnit))
+                    .build());
+            totalFuture = totalFuture.max(median);
+        }
+
+        return FutureProjectionDTO.builder()
+                .currency(reportingCurrency)
+                .resolution(resolution.name())
+                .horizonYears(horizonYears)
+                .mode(MODE_MONTE_CARLO)
+                .paths(paths)
+                .seed(seed)
+                .projections(projections)
+                .totalFutureBenefits(totalFuture)
+                .summary("Median outcome with P10-P90 bands from " + paths + " simulated market paths.")
+                .build();
+    }
+
+    /**
+     * Per-type return assumptions from MONTE_CARLO_MEAN_* and MONTE_CARLO_VOLATILITY_* (percent)
+     */
+    public static Map<Asset.AssetType, MonteCarloSimulator.Assumption> monteCarloAssumptions(AppConfigSnapshot config) {
+        Map<Asset.AssetType, MonteCarloSimulator.Assumption> assumptions = new EnumMap<>(Asset.AssetType.class);
+        for (Asset.AssetType type : Asset.AssetType.values()) {
+            BigDecimal mean = config.getDecimal(AppConfigService.MONTE_CARLO_MEAN_PREFIX + type.name(), null);
+            BigDecimal volatility = config.getDecimal(AppConfigService.MONTE_CARLO_VOLATILITY_PREFIX + type.name(),
+                    BigDecimal.valueOf(MonteCarloSimulator.defaultVolatility(type)));
+            assumptions.put(type, new MonteCarloSimulator.Assumption(
+                    mean != null ? mean.doubleValue() / 100 : null, volatility.doubleValue() / 100));
+        }
+        return assumptions;
+    }
+
+    /**
+     * Engine over the active assets (auto-growth assets valued as of the given date) and policies
+     */
+    public ProjectionEngine engine(LocalDate asOf, ExchangeRates rates) {
+        List<Asset> assets = assetValuationService.valuedCopies(assetRepository.findByActiveTrue(), asOf);
+        List<Insurance> insurances = insuranceRepository.findByActiveTrue();
+        return ProjectionEngine.of(assets, insurances, rates);
+    }
+
+    @Override
+    public String metricsName() {
+        return "projectionCache";
+    }
+
+    @Override
+    public Map<String, Object> metrics() {
+        return cache.stats();
+    }
+
+    /**
+     * Versions are read before anything is loaded, so a concurrent write can only make the entry older
+     */
+    private ProjectionKey key(LocalDate asOf, int currentAge, String currency, ProjectionEngine.Resolution resolution,
+                              int horizonYears, String mode, int paths, long seed) {
+        return new ProjectionKey(
+                dataVersionService.current(DataVersionService.Scope.ASSETS),
+                dataVersionService.current(DataVersionService.Scope.INSURANCE),
+                dataVersionService.current(DataVersionService.Scope.CONFIG),
+                asOf, currentAge, ExchangeRates.normalize(currency), resolution, horizonYears, mode, paths, seed);
+    }
+
+    /**
+     * The returned DTO is shared between callers and must be treated as read-only
+     */
+    private FutureProjectionDTO cached(ProjectionKey key, Supplier<FutureProjectionDTO> compute) {
+        if (!key.asOf().equals(cacheDay)) {
+            cacheDay = key.asOf();
+            cache.clear();
+        }
+        return cache.computeIfAbsent(key, k -> compute.get());
+    }
+
+    private record ProjectionKey(long assetsVersion, long insuranceVersion, long configVersion, LocalDate asOf,
+                                 int currentAge, String currency, ProjectionEngine.Resolution resolution,
+                                 int horizonYears, String mode, int paths, long seed) {
+    }
+
+    private static void checkHorizon(int horizonYears) {
+        if (horizonYears < 1 || horizonYears > MAX_HORIZON_YEARS) {
+            throw new IllegalArgumentException("horizonYears must be between 1 and " + MAX_HORIZON_YEARS);
+        }
+    }
+
+    private static double perBaseUnit(ExchangeRates rates, String currency) {
+        return BigDecimal.ONE.divide(rates.rateToBase(currency), MathContext.DECIMAL64).doubleValue();
     }
 
-    private BigDecimal calculateInsuranceMaturity(List<Insurance> insurances, int targetYear) {
-        return insurances.stream()
-                .filter(ins -> ins.getMaturityYear() != null && ins.getMaturityYear() == targetYear)
-                .map(ins -> ins.getMaturityBenefit() != null ? ins.getMaturityBenefit() : BigDecimal.ZERO)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    private static BigDecimal amount(double value) {
+        return BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP);
     }
 
     private String getMilestone(int age) {
@@ -94,7 +271,7 @@ public class FutureProjectionService {
         if (age == 45) return "Mid-career growth phase";
         if (age == 50) return "Pre-retirement planning";
         if (age == 55) return "Retirement preparation";
-        if (age == 60) return "Retirement begins";
+        if (age == RETIREMENT_AGE) return "Retirement begins";
         if (age == 65) return "Golden years";
         return "";
     }
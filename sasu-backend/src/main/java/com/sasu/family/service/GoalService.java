@@ -0,0 +1,216 @@
+package com.sasu.family.service;
+
+import com.sasu.family.dto.GoalRequestDTO;
+import com.sasu.family.dto.GoalResultDTO;
+import com.sasu.family.model.Asset;
+import com.sasu.family.repository.AssetRepository;
+import com.sasu.family.repository.InsuranceRepository;
+import com.sasu.family.util.ExchangeRates;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Goal Service
+ *
+ * Solves savings goals against the {@link ProjectionEngine}.
+ *
+ * Wealth counted towards a goal after m months is
+ *   W(m, c) = A(m) + M(m) + c * S(m)
+ * where A is the projected value of the counted assets, M the insurance
+ * maturities received so far (reinvested at the savings rate), S the
+ * future value of saving one unit per month, and c the monthly saving.
+ * A, M, S and the inflated target are tabulated once per solve, each
+ * month's factor multiplying the previous one, so evaluating W is a few
+ * array reads.
+ *
+ * The required saving is found by Newton iteration on c (W is linear in c,
+ * so it settles after one step). The time to target is the first month at
+ * which W reaches the target: assets that depreciate can make W dip, so the
+ * tabulated months are scanned rather than bisected.
+ */
+@Service
+@RequiredArgsConstructor
+public class GoalService {
+
+    public static final String SOLVED_CONTRIBUTION = "MONTHLY_CONTRIBUTION";
+    public static final String SOLVED_DATE = "TARGET_DATE";
+
+    private static final int MAX_MONTHS = FutureProjectionService.MAX_HORIZON_YEARS * 12;
+    private static final int MAX_ITERATIONS = 20;
+    private static final double TOLERANCE = 0.005;
+
+    private final AssetRepository assetRepository;
+    private final InsuranceRepository insuranceRepository;
+    private final AssetValuationService assetValuationService;
+    private final AppConfigService appConfigService;
+
+    public GoalResultDTO solve(GoalRequestDTO request) {
+        if (request.getTargetAmount() == null || request.getTargetAmount().signum() <= 0) {
+            throw new IllegalArgumentException("targetAmount must be positive");
+        }
+        if ((request.getTargetDate() == null) == (request.getMonthlyContribution() == null)) {
+            throw new IllegalArgumentException("Give either targetDate or monthlyContribution");
+        }
+        if (request.getMonthlyContribution() != null && request.getMonthlyContribution().signum() < 0) {
+            throw new IllegalArgumentException("monthlyContribution must not be negative");
+        }
+        ExchangeRates rates = appConfigService.getExchangeRates();
+        String currency = rates.resolve(request.getCurrency());
+        LocalDate today = LocalDate.now();
+
+        int months = MAX_MONTHS;
+        if (request.getTargetDate() != null) {
+            months = (int) ChronoUnit.MONTHS.between(YearMonth.from(today), YearMonth.from(request.getTargetDate()));
+            if (months < 1 || months > MAX_MONTHS) {
+                throw new IllegalArgumentException("targetDate must be between next month and "
+                        + FutureProjectionService.MAX_HORIZON_YEARS + " years ahead");
+            }
+        }
+
+        ProjectionEngine engine = ProjectionEngine.of(
+                countedAssets(request.getIncludeAssets(), today), insuranceRepository.findByActiveTrue(), rates);
+        double savingsRate = request.getContributionGrowthRate() != null
+                ? request.getContributionGrowthRate().doubleValue() / 100
+                : engine.weightedGrowthRate();
+        double inflation = request.getInflationRate() != null ? request.getInflationRate().doubleValue() / 100 : 0;
+        double target = rates.toBase(request.getTargetAmount(), currency).doubleValue();
+
+        Tables tables = Tables.of(engine, today, months, savingsRate, inflation, target);
+        GoalResultDTO.GoalResultDTOBuilder result = GoalResultDTO.builder()
+                .name(request.getName())
+                .currency(currency)
+                .contributionGrowthRate(BigDecimal.valueOf(savingsRate * 100).setScale(2, RoundingMode.HALF_UP));
+
+        if (request.getTargetDate() != null) {
+            return solveContribution(tables, months, today, request.getTargetDate(), result, rates, currency);
+        }
+        double contribution = rates.toBase(request.getMonthlyContribution(), currency).doubleValue();
+        return solveDate(tables, contribution, today, result, rates, currency);
+    }
+
+    /**
+     * Newton iteration on the monthly saving c for f(c) = W(m, c) - T(m)
+     */
+    private GoalResultDTO solveContribution(Tables t, int m, LocalDate today, LocalDate targetDate,
+                                            GoalResultDTO.GoalResultDTOBuilder result,
+                                            ExchangeRates rates, String currency) {
+        double gap = t.target[m] - t.assets[m] - t.maturities[m];
+        double contribution = 0;
+        int iterations = 0;
+        if (gap > 0) {
+            double slope = t.savings[m];
+            for (; iterations < MAX_ITERATIONS; iterations++) {
+                double f = t.wealth(m, contribution) - t.target[m];
+                if (Math.abs(f) < TOLERANCE) break;
+                contribution -= f / slope;
+            }
+        }
+        return outcome(t, m, contribution, today, result, rates, currency)
+                .solvedFor(SOLVED_CONTRIBUTION)
+                .targetDate(targetDate)
+                .alreadyReached(gap <= 0)
+                .reachable(true)
+                .iterations(iterations)
+                .build();
+    }
+
+    /**
+     * First month at which W(m, c) reaches the target, if any within the horizon
+     */
+    private GoalResultDTO solveDate(Tables t, double contribution, LocalDate today,
+                                    GoalResultDTO.GoalResultDTOBuilder result, ExchangeRates rates, String currency) {
+        int months = t.target.length - 1;
+        for (int m = 0; m <= months; m++) {
+            if (t.wealth(m, contribution) >= t.target[m]) {
+                return outcome(t, m, contribution, today, result, rates, currency)
+                        .solvedFor(SOLVED_DATE)
+                        .alreadyReached(m == 0)
+                        .reachable(true)
+                        .iterations(m + 1)
+                        .build();
+            }
+        }
+        return outcome(t, months, contribution, today, result, rates, currency)
+                .solvedFor(SOLVED_DATE)
+                .targetDate(null)
+                .monthsToTarget(null)
+                .alreadyReached(false)
+                .reachable(false)
+                .iterations(months + 1)
+                .build();
+    }
+
+    private static GoalResultDTO.GoalResultDTOBuilder outcome(Tables t, int m, double contribution, LocalDate today,
+                                                              GoalResultDTO.GoalResultDTOBuilder result,
+                                                              ExchangeRates rates, String currency) {
+        double savings = contribution * t.savings[m];
+        return result
+                .targetAmount(amount(t.target[m], rates, currency))
+                .monthlyContribution(amount(contribution, rates, currency))
+                .targetDate(YearMonth.from(today).plusMonths(m).atEndOfMonth())
+                .monthsToTarget(m)
+                .projectedAssets(amount(t.assets[m], rates, currency))
+                .projectedMaturities(amount(t.maturities[m], rates, currency))
+                .projectedSavings(amount(savings, rates, currency))
+                .projectedTotal(amount(t.assets[m] + t.maturities[m] + savings, rates, currency));
+    }
+
+    private List<Asset> countedAssets(GoalRequestDTO.AssetScope scope, LocalDate today) {
+        GoalRequestDTO.AssetScope counted = scope != null ? scope : GoalRequestDTO.AssetScope.ALL;
+        if (counted == GoalRequestDTO.AssetScope.NONE) {
+            return List.of();
+        }
+        return assetValuationService.valuedCopies(assetRepository.findByActiveTrue(), today).stream()
+                .filter(asset -> switch (counted) {
+                    case INVESTMENTS -> Boolean.TRUE.equals(asset.getIsInvestment());
+                    case LIQUID -> Boolean.TRUE.equals(asset.getIsLiquid());
+                    default -> true;
+                })
+                .toList();
+    }
+
+    private static BigDecimal amount(double base, ExchangeRates rates, String currency) {
+        return rates.fromBase(BigDecimal.valueOf(base).setScale(2, RoundingMode.HALF_UP), currency);
+    }
+
+    /**
+     * Base-currency tables indexed by months from now (index 0 = today)
+     */
+    private record Tables(double[] assets, double[] maturities, double[] savings, double[] target) {
+
+        static Tables of(ProjectionEngine engine, LocalDate today, int months, double savingsRate,
+                         double inflation, double target) {
+            double[] assets = new double[months + 1];
+            double[] maturities = new double[months + 1];
+            double[] savings = new double[months + 1];
+            double[] targets = new double[months + 1];
+
+            double[] series = engine.assetSeries(months, ProjectionEngine.Resolution.MONTHLY);
+            double monthlyGrowth = ProjectionEngine.growthFactor(savingsRate, 1 / 12.0);
+            double monthlyInflation = ProjectionEngine.growthFactor(inflation, 1 / 12.0);
+
+            assets[0] = engine.currentValue();
+            targets[0] = target;
+            for (int m = 1; m <= months; m++) {
+                assets[m] = series[m - 1];
+                double received = engine.maturities(ProjectionEngine.Resolution.MONTHLY,
+                        ProjectionEngine.periodOf(today, m, ProjectionEngine.Resolution.MONTHLY));
+                maturities[m] = maturities[m - 1] * monthlyGrowth + received;
+                savings[m] = savings[m - 1] * monthlyGrowth + 1;
+                targets[m] = targets[m - 1] * monthlyInflation;
+            }
+            return new Tables(assets, maturities, savings, targets);
+        }
+
+        double wealth(int m, double contribution) {
+            return assets[m] + maturities[m] + contribution * savings[m];
+        }
+    }
+}
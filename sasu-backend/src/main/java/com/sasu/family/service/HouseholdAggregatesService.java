@@ -0,0 +1,247 @@
+package com.sasu.family.service;
+
+import com.sasu.family.model.Asset;
+import com.sasu.family.model.Expense;
+import com.sasu.family.model.HouseholdAggregate;
+import com.sasu.family.model.Income;
+import com.sasu.family.model.Insurance;
+import com.sasu.family.model.Liability;
+import com.sasu.family.repository.HouseholdAggregateRepository;
+import com.sasu.family.util.ExchangeRates;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+
+/**
+ * Household Aggregates Service
+ *
+ * Maintains the household_aggregates table.
+ *
+ * Write paths call exclude() with the record's old state and include()
+ * with its new state. Both must run inside the caller's transaction, so
+ * the running totals commit or roll back together with the record itself.
+ * Inactive records contribute nothing, which makes soft-delete a plain exclude.
+ *
+ * rebuild() and verify() recompute the table from the base tables.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class HouseholdAggregatesService {
+
+    private final HouseholdAggregateRepository aggregateRepository;
+    private final HouseholdSnapshotService snapshotService;
+    private final DataVersionService dataVersionService;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void include(Asset asset) {
+        if (isActive(asset.getActive())) update(HouseholdAggregate.currencyOf(asset), row -> row.apply(asset, 1));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void exclude(Asset asset) {
+        if (isActive(asset.getActive())) update(HouseholdAggregate.currencyOf(asset), row -> row.apply(asset, -1));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void include(Liability liability) {
+        if (isActive(liability.getActive())) update(HouseholdAggregate.BASE_CURRENCY, row -> row.apply(liability, 1));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void exclude(Liability liability) {
+        if (isActive(liability.getActive())) update(HouseholdAggregate.BASE_CURRENCY, row -> row.apply(liability, -1));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void include(Insurance insurance) {
+        if (isActive(insurance.getActive())) update(HouseholdAggregate.BASE_CURRENCY, row -> row.apply(insurance, 1));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void exclude(Insurance insurance) {
+        if (isActive(insurance.getActive())) update(HouseholdAggregate.BASE_CURRENCY, row -> row.apply(insurance, -1));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void include(Income income) {
+        if (isActive(income.getActive())) update(HouseholdAggregate.BASE_CURRENCY, row -> row.apply(income, 1));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void exclude(Income income) {
+        if (isActive(income.getActive())) update(HouseholdAggregate.BASE_CURRENCY, row -> row.apply(income, -1));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void include(Expense expense) {
+        if (isActive(expense.getActive())) update(HouseholdAggregate.BASE_CURRENCY, row -> row.apply(expense, 1));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void exclude(Expense expense) {
+        if (isActive(expense.getActive())) update(HouseholdAggregate.BASE_CURRENCY, row -> row.apply(expense, -1));
+    }
+
+    /**
+     * Stored rows, one per currency
+     */
+    public List<HouseholdAggregate> getAll() {
+        return aggregateRepository.findAll();
+    }
+
+    /**
+     * Detached copies of the stored rows keyed by currency, safe to adjust
+     */
+    public Map<String, HouseholdAggregate> getRowCopies() {
+        Map<String, HouseholdAggregate> rows = new TreeMap<>();
+        for (HouseholdAggregate row : aggregateRepository.findAll()) {
+            HouseholdAggregate copy = HouseholdAggregate.empty(row.getCurrency());
+            copy.merge(row);
+            rows.put(copy.getCurrency(), copy);
+        }
+        return rows;
+    }
+
+    /**
+     * Fold per-currency rows into one base-currency row, converting each row once
+     */
+    public static HouseholdAggregate totalsInBase(Collection<HouseholdAggregate> rows, ExchangeRates rates) {
+        HouseholdAggregate totals = HouseholdAggregate.empty(HouseholdAggregate.BASE_CURRENCY);
+        for (HouseholdAggregate row : rows) {
+            totals.merge(row, rates.rateToBase(row.getCurrency()));
+        }
+        return totals;
+    }
+
+    /**
+     * Recompute the table from the base tables and overwrite the stored rows
+     *
+     * @return number of rows that differed from the recomputed values
+     */
+    @Transactional
+    public int rebuild() {
+        Map<String, HouseholdAggregate> expected = compute(snapshotService.load());
+        Map<String, HouseholdAggregate> stored = storedByCurrency();
+        int changed = 0;
+
+        for (HouseholdAggregate row : stored.values()) {
+            HouseholdAggregate target = expected.remove(row.getCurrency());
+            if (target == null) {
+                aggregateRepository.delete(row);
+                changed++;
+            } else if (!row.sameTotals(target)) {
+                row.copyTotalsFrom(target);
+                row.setLastUpdated(LocalDateTime.now());
+                changed++;
+            }
+        }
+        for (HouseholdAggregate row : expected.values()) {
+            row.setLastUpdated(LocalDateTime.now());
+            aggregateRepository.save(row);
+            changed++;
+        }
+
+        if (changed > 0) {
+            for (DataVersionService.Scope scope : DataVersionService.Scope.values()) {
+                dataVersionService.bump(scope);
+            }
+        }
+        log.info("Household aggregates rebuilt: {} row(s) changed", changed);
+        return changed;
+    }
+
+    /**
+     * Rebuild only when the table has never been populated (fresh or upgraded database)
+     */
+    @Transactional
+    public void rebuildIfEmpty() {
+        if (aggregateRepository.count() == 0) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Compare stored rows with values recomputed from the base tables
+     *
+     * @return one line per mismatching currency row, empty when consistent
+     */
+    @Transactional(readOnly = true)
+    public List<String> verify() {
+        Map<String, HouseholdAggregate> expected = compute(snapshotService.load());
+        Map<String, HouseholdAggregate> stored = storedByCurrency();
+        List<String> mismatches = new ArrayList<>();
+
+        Set<String> currencies = new TreeSet<>(expected.keySet());
+        currencies.addAll(stored.keySet());
+        for (String currency : currencies) {
+            HouseholdAggregate want = expected.getOrDefault(currency, HouseholdAggregate.empty(currency));
+            HouseholdAggregate have = stored.getOrDefault(currency, HouseholdAggregate.empty(currency));
+            if (!have.sameTotals(want)) {
+                mismatches.add(currency + ": stored " + describe(have) + " but base tables give " + describe(want));
+            }
+        }
+        return mismatches;
+    }
+
+    /**
+     * Compute the per-currency rows for a snapshot without touching the database
+     */
+    public static Map<String, HouseholdAggregate> compute(HouseholdSnapshot snapshot) {
+        Map<String, HouseholdAggregate> rows = new TreeMap<>();
+        HouseholdAggregate base = HouseholdAggregate.empty(HouseholdAggregate.BASE_CURRENCY);
+        rows.put(base.getCurrency(), base);
+
+        for (Asset asset : snapshot.assets()) {
+            rows.computeIfAbsent(HouseholdAggregate.currencyOf(asset), HouseholdAggregate::empty).apply(asset, 1);
+        }
+        snapshot.liabilities().forEach(l -> base.apply(l, 1));
+        snapshot.insurances().forEach(i -> base.apply(i, 1));
+        snapshot.incomes().forEach(i -> base.apply(i, 1));
+        snapshot.expenses().forEach(e -> base.apply(e, 1));
+        return rows;
+    }
+
+    private void update(String currency, Consumer<HouseholdAggregate> change) {
+        HouseholdAggregate row = aggregateRepository.findById(currency)
+                .orElseGet(() -> HouseholdAggregate.empty(currency));
+        change.accept(row);
+        row.setLastUpdated(LocalDateTime.now());
+        aggregateRepository.save(row);
+    }
+
+    private Map<String, HouseholdAggregate> storedByCurrency() {
+        Map<String, HouseholdAggregate> stored = new TreeMap<>();
+        aggregateRepository.findAll().forEach(row -> stored.put(row.getCurrency(), row));
+        return stored;
+    }
+
+    private static String describe(HouseholdAggregate row) {
+        return "[assets=" + row.getTotalAssets()
+                + ", liquid=" + row.getLiquidAssets()
+                + ", investments=" + row.getTotalInvestments()
+                + ", liabilities=" + row.getTotalLiabilities()
+                + ", burden=" + row.getMonthlyBurden()
+                + ", income=" + row.getMonthlyIncome()
+                + ", expenses=" + row.getMonthlyExpenses()
+                + ", essential=" + row.getMonthlyEssentialExpenses()
+                + ", coverage=" + row.getTotalCoverage()
+                + ", policies=" + row.getPolicyCount() + "]";
+    }
+
+    private static boolean isActive(Boolean active) {
+        return Boolean.TRUE.equals(active);
+    }
+}
@@ -0,0 +1,25 @@
+package com.sasu.family.service;
+
+import com.sasu.family.model.Asset;
+import com.sasu.family.model.Expense;
+import com.sasu.family.model.Income;
+import com.sasu.family.model.Insurance;
+import com.sasu.family.model.Liability;
+
+import java.util.List;
+
+/**
+ * Household Snapshot
+ *
+ * The active records of every household table, loaded once per request.
+ * Calculations work against the snapshot instead of going back to the
+ * repositories for each figure.
+ */
+public record HouseholdSnapshot(
+        List<Asset> assets,
+        List<Liability> liabilities,
+        List<Insurance> insurances,
+        List<Income> incomes,
+        List<Expense> expenses
+) {
+}
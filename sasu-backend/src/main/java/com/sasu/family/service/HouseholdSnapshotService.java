@@ -0,0 +1,55 @@
+package com.sasu.family.service;
+
+import com.sasu.family.repository.AssetRepository;
+import com.sasu.family.repository.ExpenseRepository;
+import com.sasu.family.repository.IncomeRepository;
+import com.sasu.family.repository.InsuranceRepository;
+import com.sasu.family.repository.LiabilityRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Household Snapshot Service
+ *
+ * Loads every active record set exactly once into a {@link HouseholdSnapshot}.
+ */
+@Service
+@RequiredArgsConstructor
+public class HouseholdSnapshotService {
+
+    private final AssetRepository assetRepository;
+    private final LiabilityRepository liabilityRepository;
+    private final InsuranceRepository insuranceRepository;
+    private final IncomeRepository incomeRepository;
+    private final ExpenseRepository expenseRepository;
+    private final AssetValuationService assetValuationService;
+    private final LiabilityAmortizationService liabilityAmortizationService;
+
+    public HouseholdSnapshot load() {
+        return new HouseholdSnapshot(
+                assetRepository.findByActiveTrue(),
+                liabilityRepository.findByActiveTrue(),
+                insuranceRepository.findByActiveTrue(),
+                incomeRepository.findByActiveTrue(),
+                expenseRepository.findByActiveTrue()
+        );
+    }
+
+    /**
+     * Immutable snapshot with auto-growth assets and auto-calculated
+     * liabilities valued as of the given date, safe to share between threads
+     * and to overlay (records must still only be replaced, not mutated)
+     */
+    public HouseholdSnapshot loadValued(LocalDate asOf) {
+        HouseholdSnapshot stored = load();
+        return new HouseholdSnapshot(
+                List.copyOf(assetValuationService.valuedCopies(stored.assets(), asOf)),
+                List.copyOf(liabilityAmortizationService.valuedCopies(stored.liabilities(), asOf)),
+                List.copyOf(stored.insurances()),
+                List.copyOf(stored.incomes()),
+                List.copyOf(stored.expenses()));
+    }
+}
@@ -4,6 +4,7 @@ import com.sasu.family.model.Insurance;
 import com.sasu.family.repository.InsuranceRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -12,6 +13,8 @@ import java.util.List;
 public class InsuranceService {
 
     private final InsuranceRepository insuranceRepository;
+    private final HouseholdAggregatesService householdAggregatesService;
+    private final DataVersionService dataVersionService;
 
     public List<Insurance> getAllInsurance() {
         return insuranceRepository.findByActiveTrue();
@@ -22,13 +25,19 @@ public class InsuranceService {
                 .orElseThrow(() -> new RuntimeException("Insurance not found"));
     }
 
+    @Transactional
     public Insurance createInsurance(Insurance insurance) {
         insurance.setActive(true);
-        return insuranceRepository.save(insurance);
+        Insurance saved = insuranceRepository.save(insurance);
+        householdAggregatesService.include(saved);
+        dataVersionService.bump(DataVersionService.Scope.INSURANCE);
+        return saved;
     }
 
+    @Transactional
     public Insurance updateInsurance(Long id, Insurance insuranceDetails) {
         Insurance insurance = getInsuranceById(id);
+        householdAggregatesService.exclude(insurance);
 
         insurance.setPolicyName(insuranceDetails.getPolicyName());
         insurance.setType(insuranceDetails.getType());
@@ -42,13 +51,19 @@ public class InsuranceService {
         insurance.setBeneficiary(insuranceDetails.getBeneficiary());
         insurance.setDescription(insuranceDetails.getDescription());
 
-        return insuranceRepository.save(insurance);
+        Insurance saved = insuranceRepository.save(insurance);
+        householdAggregatesService.include(saved);
+        dataVersionService.bump(DataVersionService.Scope.INSURANCE);
+        return saved;
     }
 
+    @Transactional
     public void deleteInsurance(Long id) {
         Insurance insurance = getInsuranceById(id);
+        householdAggregatesService.exclude(insurance);
         insurance.setActive(false);
         insuranceRepository.save(insurance);
+        dataVersionService.bump(DataVersionService.Scope.INSURANCE);
     }
 }
 
@@ -0,0 +1,125 @@
+package com.sasu.family.service;
+
+import com.sasu.family.dto.AmortizationScheduleDTO;
+import com.sasu.family.model.Liability;
+import com.sasu.family.util.LruCache;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Liability Amortization Service
+ *
+ * Server-side counterpart of the mobile client's liability auto-calculation.
+ *
+ * Schedules are closed-form {@link AmortizationSchedule}s cached per
+ * liability version, i.e. per (id, original amount, payment, rate, start
+ * date). Editing any of those inputs yields a new key, so a cached schedule
+ * can never be stale, and reading a balance never rebuilds a 30-year schedule.
+ */
+@Service
+public class LiabilityAmortizationService {
+
+    private static final int SCHEDULE_CACHE_SIZE = 512;
+    public static final int MAX_PAGE_MONTHS = 600;
+
+    private final LruCache<ScheduleKey, AmortizationSchedule> scheduleCache = new LruCache<>(SCHEDULE_CACHE_SIZE);
+
+    /**
+     * Schedule for a liability, empty when it lacks a start date or a positive monthly payment
+     */
+    public Optional<AmortizationSchedule> scheduleFor(Liability liability) {
+        if (liability.getStartDate() == null || liability.getOriginalAmount() == null
+                || liability.getMonthlyPayment() == null || liability.getMonthlyPayment().signum() <= 0) {
+            return Optional.empty();
+        }
+        ScheduleKey key = new ScheduleKey(liability.getId(), liability.getOriginalAmount(),
+                liability.getMonthlyPayment(), liability.getInterestRate(), liability.getStartDate());
+        return Optional.of(scheduleCache.computeIfAbsent(key, k -> new AmortizationSchedule(
+                k.originalAmount(), k.monthlyPayment(), k.interestRate(), k.startDate())));
+    }
+
+    /**
+     * Copy of the liability carrying its live balance; a paid-off loan no longer
+     * contributes a monthly payment. Manually tracked liabilities are returned as-is.
+     */
+    public Liability valuedCopy(Liability liability, LocalDate asOf) {
+        if (!Boolean.TRUE.equals(liability.getAutoCalculate())) {
+            return liability;
+        }
+        Optional<AmortizationSchedule> schedule = scheduleFor(liability);
+        if (schedule.isEmpty()) {
+            return liability;
+        }
+        boolean paidOff = schedule.get().isPaidOffBy(asOf);
+        return liability.toBuilder()
+                .remainingAmount(schedule.get().balanceAsOf(asOf))
+                .monthlyPayment(paidOff ? BigDecimal.ZERO : liability.getMonthlyPayment())
+                .build();
+    }
+
+    public List<Liability> valuedCopies(List<Liability> liabilities, LocalDate asOf) {
+        List<Liability> valued = new ArrayList<>(liabilities.size());
+        for (Liability liability : liabilities) {
+            valued.add(valuedCopy(liability, asOf));
+        }
+        return valued;
+    }
+
+    /**
+     * Payoff summary plus payments fromMonth .. fromMonth + months - 1
+     */
+    public AmortizationScheduleDTO getSchedule(Liability liability, int fromMonth, int months, LocalDate asOf) {
+        AmortizationSchedule schedule = scheduleFor(liability)
+                .orElseThrow(() -> new IllegalArgumentException(
+                        "Liability needs a start date and a monthly payment to build a schedule"));
+
+        int first = Math.max(1, fromMonth);
+        int pageSize = Math.max(1, Math.min(months, MAX_PAGE_MONTHS));
+        int last = first + pageSize - 1;
+        if (schedule.isAmortizing()) {
+            last = Math.min(last, schedule.getTotalMonths());
+        }
+
+        List<AmortizationScheduleDTO.ScheduleRow> rows = new ArrayList<>();
+        for (int month = first; month <= last; month++) {
+            AmortizationSchedule.Row row = schedule.row(month);
+            rows.add(AmortizationScheduleDTO.ScheduleRow.builder()
+                    .month(row.month())
+                    .date(row.date())
+                    .payment(row.payment())
+                    .interest(row.interest())
+                    .principal(row.principal())
+                    .balance(row.balance())
+                    .build());
+        }
+
+        int monthsPaid = schedule.paymentsMadeBy(asOf);
+        return AmortizationScheduleDTO.builder()
+                .liabilityId(liability.getId())
+                .liabilityName(liability.getName())
+                .originalAmount(liability.getOriginalAmount())
+                .monthlyPayment(liability.getMonthlyPayment())
+                .interestRate(liability.getInterestRate())
+                .startDate(liability.getStartDate())
+                .totalMonths(schedule.isAmortizing() ? schedule.getTotalMonths() : null)
+                .monthsPaid(monthsPaid)
+                .monthsRemaining(schedule.isAmortizing() ? schedule.getTotalMonths() - monthsPaid : null)
+                .currentBalance(schedule.balanceAfter(monthsPaid))
+                .payoffDate(schedule.getPayoffDate())
+                .totalInterest(schedule.getTotalInterest())
+                .fullyPaid(schedule.isPaidOffBy(asOf))
+                .fromMonth(first)
+                .toMonth(rows.isEmpty() ? first - 1 : last)
+                .rows(rows)
+                .build();
+    }
+
+    private record ScheduleKey(Long id, BigDecimal originalAmount, BigDecimal monthlyPayment,
+                               BigDecimal interestRate, LocalDate startDate) {
+    }
+}
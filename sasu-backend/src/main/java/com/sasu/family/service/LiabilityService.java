@@ -1,10 +1,13 @@
 package com.sasu.family.service;
 
+import com.sasu.family.dto.AmortizationScheduleDTO;
 import com.sasu.family.model.Liability;
 import com.sasu.family.repository.LiabilityRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @Service
@@ -12,6 +15,9 @@ import java.util.List;
 public class LiabilityService {
 
     private final LiabilityRepository liabilityRepository;
+    private final HouseholdAggregatesService householdAggregatesService;
+    private final DataVersionService dataVersionService;
+    private final LiabilityAmortizationService liabilityAmortizationService;
 
     public List<Liability> getAllLiabilities() {
         return liabilityRepository.findByActiveTrue();
@@ -22,13 +28,26 @@ public class LiabilityService {
                 .orElseThrow(() -> new RuntimeException("Liability not found"));
     }
 
+    /**
+     * Amortization summary and one page of the monthly schedule
+     */
+    public AmortizationScheduleDTO getSchedule(Long id, int fromMonth, int months, LocalDate asOf) {
+        return liabilityAmortizationService.getSchedule(getLiabilityById(id), fromMonth, months, asOf);
+    }
+
+    @Transactional
     public Liability createLiability(Liability liability) {
         liability.setActive(true);
-        return liabilityRepository.save(liability);
+        Liability saved = liabilityRepository.save(liability);
+        householdAggregatesService.include(saved);
+        dataVersionService.bump(DataVersionService.Scope.LIABILITIES);
+        return saved;
     }
 
+    @Transactional
     public Liability updateLiability(Long id, Liability liabilityDetails) {
         Liability liability = getLiabilityById(id);
+        householdAggregatesService.exclude(liability);
 
         liability.setName(liabilityDetails.getName());
         liability.setType(liabilityDetails.getType());
@@ -41,13 +60,19 @@ public class LiabilityService {
         liability.setDescription(liabilityDetails.getDescription());
         liability.setAutoCalculate(liabilityDetails.getAutoCalculate() != null ? liabilityDetails.getAutoCalculate() : false);
 
-        return liabilityRepository.save(liability);
+        Liability saved = liabilityRepository.save(liability);
+        householdAggregatesService.include(saved);
+        dataVersionService.bump(DataVersionService.Scope.LIABILITIES);
+        return saved;
     }
 
+    @Transactional
     public void deleteLiability(Long id) {
         Liability liability = getLiabilityById(id);
+        householdAggregatesService.exclude(liability);
         liability.setActive(false);
         liabilityRepository.save(liability);
+        dataVersionService.bump(DataVersionService.Scope.LIABILITIES);
     }
 }
 
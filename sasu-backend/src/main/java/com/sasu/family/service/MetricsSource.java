@@ -0,0 +1,19 @@
+package com.sasu.family.service;
+
+import java.util.Map;
+
+/**
+ * Metrics Source
+ *
+ * Implemented by services that report counters on /api/metrics.
+ * Values are read on demand and must be cheap to compute.
+ */
+public interface MetricsSource {
+
+    /**
+     * Key of this source in the metrics response
+     */
+    String metricsName();
+
+    Map<String, Object> metrics();
+}
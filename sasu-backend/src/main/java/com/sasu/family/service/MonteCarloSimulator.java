@@ -0,0 +1,240 @@
+package com.sasu.family.service;
+
+import com.sasu.family.model.Asset;
+import com.sasu.family.model.HouseholdAggregate;
+import com.sasu.family.util.ExchangeRates;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.stream.IntStream;
+
+/**
+ * Monte Carlo Simulator
+ *
+ * Stochastic counterpart of {@link ProjectionEngine}: samples one yearly
+ * return per asset type per path and reports P10/P50/P90 of the total
+ * asset value for each recorded year.
+ *
+ * Assets are folded into groups of (type, growth rate) in the base
+ * currency. A group's yearly growth is lognormal, exp(mu - s^2/2 + s*Z),
+ * with mu = ln(1 + mean) so the expected growth equals the configured
+ * mean and a value never drops below zero. All groups of one type share
+ * the type's draw Z in a path.
+ *
+ * Paths are split recursively over the fork/join pool, each split also
+ * splitting the {@link SplittableRandom}. The split tree depends only on
+ * the path count, so a seed always yields the same bands regardless of
+ * thread scheduling. The inner loop works on primitive doubles only.
+ */
+public final class MonteCarloSimulator {
+
+    public static final int DEFAULT_PATHS = 10_000;
+    public static final int MAX_PATHS = 50_000;
+    public static final long DEFAULT_SEED = 1L;
+
+    private static final int LEAF_PATHS = 256;
+
+    /**
+     * Yearly return assumption for one asset type, both as fractions
+     *
+     * @param mean       expected yearly return, null to keep each asset's own yearlyGrowthRate
+     * @param volatility standard deviation of the yearly log return
+     */
+    public record Assumption(Double mean, double volatility) {
+    }
+
+    /**
+     * Default yearly volatility (percent) per asset type
+     */
+    public static double defaultVolatility(Asset.AssetType type) {
+        if (type == null) return 0;
+        return switch (type) {
+            case SHARES -> 20;
+            case GOLD -> 15;
+            case LAND -> 10;
+            case HOUSE, RETIREMENT_FUND -> 8;
+            case VEHICLE -> 5;
+            case INSURANCE_INVESTMENT -> 3;
+            case EPF -> 2;
+            case FIXED_DEPOSIT -> 1;
+            case SAVINGS, BANK_DEPOSIT -> 0.5;
+            default -> 0;
+        };
+    }
+
+    private final int types;
+    private final int[] groupType;
+    private final double[] groupDrift;    // mu - s^2/2 per group
+    private final double[] groupValue;    // base-currency value per group today
+    private final double[] typeVolatility;
+
+    private MonteCarloSimulator(int types, int[] groupType, double[] groupDrift, double[] groupValue,
+                                double[] typeVolatility) {
+        this.types = types;
+        this.groupType = groupType;
+        this.groupDrift = groupDrift;
+        this.groupValue = groupValue;
+        this.typeVolatility = typeVolatility;
+    }
+
+    /**
+     * @param assets      assets carrying their current value (auto-growth assets already revalued)
+     * @param assumptions per-type assumptions; missing types keep their own rate and default volatility
+     */
+    public static MonteCarloSimulator of(List<Asset> assets, ExchangeRates exchangeRates,
+                                         Map<Asset.AssetType, Assumption> assumptions) {
+        // (type, rate) -> currency -> amount
+        Map<Asset.AssetType, Map<BigDecimal, Map<String, BigDecimal>>> grouped = new EnumMap<>(Asset.AssetType.class);
+        for (Asset asset : assets) {
+            if (asset.getCurrentValue() == null) continue;
+            Asset.AssetType type = asset.getType() != null ? asset.getType() : Asset.AssetType.OTHER;
+            BigDecimal rate = asset.getYearlyGrowthRate() != null
+                    ? asset.getYearlyGrowthRate().stripTrailingZeros()
+                    : BigDecimal.ZERO;
+            grouped.computeIfAbsent(type, t -> new LinkedHashMap<>())
+                    .computeIfAbsent(rate, r -> new LinkedHashMap<>())
+                    .merge(HouseholdAggregate.currencyOf(asset), asset.getCurrentValue(), BigDecimal::add);
+        }
+
+        List<Integer> typeOf = new ArrayList<>();
+        List<Double> drifts = new ArrayList<>();
+        List<Double> values = new ArrayList<>();
+        double[] volatility = new double[grouped.size()];
+        int typeIndex = 0;
+        for (Map.Entry<Asset.AssetType, Map<BigDecimal, Map<String, BigDecimal>>> byType : grouped.entrySet()) {
+            Assumption assumption = assumptions.getOrDefault(byType.getKey(),
+                    new Assumption(null, defaultVolatility(byType.getKey()) / 100));
+            double sigma = Math.max(assumption.volatility(), 0);
+            volatility[typeIndex] = sigma;
+
+            for (Map.Entry<BigDecimal, Map<String, BigDecimal>> byRate : byType.getValue().entrySet()) {
+                double mean = assumption.mean() != null ? assumption.mean() : byRate.getKey().doubleValue() / 100;
+                BigDecimal total = BigDecimal.ZERO;
+                for (Map.Entry<String, BigDecimal> byCurrency : byRate.getValue().entrySet()) {
+                    total = total.add(exchangeRates.toBase(byCurrency.getValue(), byCurrency.getKey()));
+                }
+                typeOf.add(typeIndex);
+                // A mean of -100% or worse wipes the group out
+                drifts.add(mean <= -1 ? Double.NEGATIVE_INFINITY : Math.log1p(mean) - sigma * sigma / 2);
+                values.add(total.doubleValue());
+            }
+            typeIndex++;
+        }
+
+        return new MonteCarloSimulator(grouped.size(),
+                typeOf.stream().mapToInt(Integer::intValue).toArray(),
+                drifts.stream().mapToDouble(Double::doubleValue).toArray(),
+                values.stream().mapToDouble(Double::doubleValue).toArray(),
+                volatility);
+    }
+
+    /**
+     * Percentile bands of the total asset value (base currency)
+     *
+     * @param years       number of simulated years
+     * @param recordEvery record every n-th year (1 = yearly, 5 = five-yearly)
+     * @return bands[k] = {P10, P50, P90} after (k + 1) * recordEvery years
+     */
+    public double[][] simulate(int paths, int years, int recordEvery, long seed) {
+        int points = years / recordEvery;
+        double[][] totals = totals(paths, years, recordEvery, seed);
+
+        double[][] bands = new double[points][];
+        ForkJoinPool.commonPool().submit(() -> IntStream.range(0, points).parallel().forEach(k -> {
+            double[] sorted = totals[k];
+            Arrays.sort(sorted);
+            bands[k] = new double[]{percentile(sorted, 0.10), percentile(sorted, 0.50), percentile(sorted, 0.90)};
+        })).join();
+        return bands;
+    }
+
+    /**
+     * Raw path totals (base currency): totals[k][path] after (k + 1) * recordEvery years
+     */
+    public double[][] totals(int paths, int years, int recordEvery, long seed) {
+        int points = years / recordEvery;
+        double[][] totals = new double[points][paths];
+        if (points > 0 && paths > 0) {
+            ForkJoinPool.commonPool().invoke(new PathTask(totals, 0, paths, years, recordEvery, new SplittableRandom(seed)));
+        }
+        return totals;
+    }
+
+    /**
+     * Total value (base currency) today
+     */
+    public double currentValue() {
+        double total = 0;
+        for (double value : groupValue) {
+            total += value;
+        }
+        return total;
+    }
+
+    private void simulatePaths(double[][] totals, int from, int to, int years, int recordEvery, SplittableRandom random) {
+        int groups = groupValue.length;
+        double[] value = new double[groups];
+        double[] shock = new double[types];
+        for (int path = from; path < to; path++) {
+            System.arraycopy(groupValue, 0, value, 0, groups);
+            for (int year = 1; year <= years; year++) {
+                for (int t = 0; t < types; t++) {
+                    shock[t] = typeVolatility[t] == 0 ? 0 : typeVolatility[t] * random.nextGaussian();
+                }
+                double total = 0;
+                for (int g = 0; g < groups; g++) {
+                    value[g] *= Math.exp(groupDrift[g] + shock[groupType[g]]);
+                    total += value[g];
+                }
+                if (year % recordEvery == 0) {
+                    totals[year / recordEvery - 1][path] = total;
+                }
+            }
+        }
+    }
+
+    private static double percentile(double[] sorted, double p) {
+        if (sorted.length == 0) return 0;
+        double rank = p * (sorted.length - 1);
+        int lower = (int) rank;
+        int upper = Math.min(lower + 1, sorted.length - 1);
+        return sorted[lower] + (sorted[upper] - sorted[lower]) * (rank - lower);
+    }
+
+    private final class PathTask extends RecursiveAction {
+        private final double[][] totals;
+        private final int from;
+        private final int to;
+        private final int years;
+        private final int recordEvery;
+        private final SplittableRandom random;
+
+        PathTask(double[][] totals, int from, int to, int years, int recordEvery, SplittableRandom random) {
+            this.totals = totals;
+            this.from = from;
+            this.to = to;
+            this.years = years;
+            this.recordEvery = recordEvery;
+            this.random = random;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= LEAF_PATHS) {
+                simulatePaths(totals, from, to, years, recordEvery, random);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            PathTask right = new PathTask(totals, mid, to, years, recordEvery, random.split());
+            invokeAll(new PathTask(totals, from, mid, years, recordEvery, random), right);
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package com.sasu.family.service;
+
+import com.sasu.family.model.Asset;
+import com.sasu.family.model.HouseholdAggregate;
+import com.sasu.family.model.Insurance;
+import com.sasu.family.util.ExchangeRates;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Projection Engine
+ *
+ * Deterministic projection of asset values and insurance maturities over
+ * any horizon, at five-yearly, yearly or monthly resolution.
+ *
+ * Assets are folded into one base-currency amount per distinct growth
+ * rate, so the per-step cost depends on the number of rates, not assets.
+ * Each rate's compound factor is advanced incrementally (the factor for
+ * step k is the factor for step k-1 times one step factor), and
+ * maturities are indexed by year and by month up front, so a 40-year
+ * monthly series costs a few thousand multiplications.
+ *
+ * Growth follows the existing projections: yearlyGrowthRate compounds
+ * annually (fractionally within a year at monthly resolution), assets
+ * without a rate stay flat. A maturity lands in its maturityYear, in the
+ * policy's anniversary month (January when it has no start date).
+ */
+public final class ProjectionEngine {
+
+    public enum Resolution {
+        FIVE_YEARLY(60),
+        YEARLY(12),
+        MONTHLY(1);
+
+        private final int monthsPerStep;
+
+        Resolution(int monthsPerStep) {
+            this.monthsPerStep = monthsPerStep;
+        }
+
+        public int monthsPerStep() {
+            return monthsPerStep;
+        }
+
+        public static Resolution parse(String value) {
+            if (value == null || value.isBlank()) return FIVE_YEARLY;
+            try {
+                return valueOf(value.trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown resolution: " + value
+                        + " (supported: FIVE_YEARLY, YEARLY, MONTHLY)");
+            }
+        }
+    }
+
+    private final double[] rates;        // yearly growth as a fraction, one per group
+    private final double[] baseValues;   // base-currency value per group today
+    private final Map<Integer, Double> maturitiesByYear;
+    private final Map<Integer, Double> maturitiesByMonth;
+
+    private ProjectionEngine(double[] rates, double[] baseValues,
+                             Map<Integer, Double> maturitiesByYear, Map<Integer, Double> maturitiesByMonth) {
+        this.rates = rates;
+        this.baseValues = baseValues;
+        this.maturitiesByYear = maturitiesByYear;
+        this.maturitiesByMonth = maturitiesByMonth;
+    }
+
+    /**
+     * @param assets assets carrying their current value (auto-growth assets already revalued)
+     */
+    public static ProjectionEngine of(List<Asset> assets, List<Insurance> insurances, ExchangeRates exchangeRates) {
+        // Sum per (rate, currency) first, then convert each sum once
+        Map<BigDecimal, Map<String, BigDecimal>> byRate = new TreeMap<>();
+        for (Asset asset : assets) {
+            if (asset.getCurrentValue() == null) continue;
+            BigDecimal rate = asset.getYearlyGrowthRate() != null
+                    ? asset.getYearlyGrowthRate().stripTrailingZeros()
+                    : BigDecimal.ZERO;
+            byRate.computeIfAbsent(rate, r -> new TreeMap<>())
+                    .merge(HouseholdAggregate.currencyOf(asset), asset.getCurrentValue(), BigDecimal::add);
+        }
+
+        double[] rates = new double[byRate.size()];
+        double[] values = new double[byRate.size()];
+        int group = 0;
+        for (Map.Entry<BigDecimal, Map<String, BigDecimal>> entry : byRate.entrySet()) {
+            BigDecimal total = BigDecimal.ZERO;
+            for (Map.Entry<String, BigDecimal> byCurrency : entry.getValue().entrySet()) {
+                total = total.add(exchangeRates.toBase(byCurrency.getValue(), byCurrency.getKey()));
+            }
+            rates[group] = entry.getKey().doubleValue() / 100;
+            values[group] = total.doubleValue();
+            group++;
+        }
+
+        Map<Integer, Double> byYear = new HashMap<>();
+        Map<Integer, Double> byMonth = new HashMap<>();
+        for (Insurance insurance : insurances) {
+            if (insurance.getMaturityYear() == null || insurance.getMaturityBenefit() == null) continue;
+            double benefit = insurance.getMaturityBenefit().doubleValue();
+            int month = insurance.getStartDate() != null ? insurance.getStartDate().getMonthValue() : 1;
+            byYear.merge(insurance.getMaturityYear(), benefit, Double::sum);
+            byMonth.merge(monthIndex(insurance.getMaturityYear(), month), benefit, Double::sum);
+        }
+
+        return new ProjectionEngine(rates, values, byYear, byMonth);
+    }
+
+    /**
+     * Asset value (base currency) after each step: element k-1 is the value k steps ahead
+     */
+    public double[] assetSeries(int steps, Resolution resolution) {
+        double[] series = new double[steps];
+        double years = resolution.monthsPerStep() / 12.0;
+        for (int g = 0; g < rates.length; g++) {
+            double stepFactor = growthFactor(rates[g], years);
+            double value = baseValues[g];
+            for (int k = 0; k < steps; k++) {
+                value *= stepFactor;
+                series[k] += value;
+            }
+        }
+        return series;
+    }
+
+    /**
+     * Asset value (base currency) after each step with every non-zero growth
+     * rate shifted by the given adjustment (fraction); factors come from the shared table
+     */
+    public double[] assetSeries(PowerTable powers, double rateAdjustment) {
+        double[] series = new double[powers.steps];
+        for (int g = 0; g < rates.length; g++) {
+            double[] factors = powers.factors(rates[g] == 0 ? 0 : rates[g] + rateAdjustment);
+            for (int k = 0; k < series.length; k++) {
+                series[k] += baseValues[g] * factors[k];
+            }
+        }
+        return series;
+    }
+
+    /**
+     * Asset value (base currency) today
+     */
+    public double currentValue() {
+        double total = 0;
+        for (double value : baseValues) {
+            total += value;
+        }
+        return total;
+    }
+
+    /**
+     * Value-weighted yearly growth rate (fraction) of the projected assets today
+     */
+    public double weightedGrowthRate() {
+        double total = 0;
+        double weighted = 0;
+        for (int g = 0; g < rates.length; g++) {
+            total += baseValues[g];
+            weighted += baseValues[g] * rates[g];
+        }
+        return total > 0 ? weighted / total : 0;
+    }
+
+    /**
+     * Maturity benefits (base currency) falling into the period of one point
+     */
+    public double maturities(Resolution resolution, YearMonth period) {
+        if (resolution == Resolution.MONTHLY) {
+            return maturitiesByMonth.getOrDefault(monthIndex(period.getYear(), period.getMonthValue()), 0.0);
+        }
+        return maturitiesByYear.getOrDefault(period.getYear(), 0.0);
+    }
+
+    /**
+     * Calendar period of step k (1-based) counted from the given date
+     */
+    public static YearMonth periodOf(LocalDate from, int step, Resolution resolution) {
+        if (resolution == Resolution.MONTHLY) {
+            return YearMonth.from(from).plusMonths(step);
+        }
+        return YearMonth.of(from.getYear() + step * resolution.monthsPerStep() / 12, 1);
+    }
+
+    /**
+     * Compound factor for a yearly rate over a number of (possibly fractional) years
+     */
+    public static double growthFactor(double yearlyRate, double years) {
+        if (yearlyRate == 0) return 1;
+        return Math.pow(1 + yearlyRate, years);
+    }
+
+    /**
+     * Compound factors per step, built once per distinct yearly rate and
+     * shared by every series that uses the rate (e.g. the cells of a
+     * sensitivity grid). Not thread-safe; use one table per computation.
+     */
+    public static final class PowerTable {
+
+        private final int steps;
+        private final double yearsPerStep;
+        private final Map<Double, double[]> factors = new HashMap<>();
+
+        public PowerTable(int steps, Resolution resolution) {
+            this.steps = steps;
+            this.yearsPerStep = resolution.monthsPerStep() / 12.0;
+        }
+
+        /**
+         * Factors of one yearly rate (fraction): element k-1 is the factor k steps ahead
+         */
+        public double[] factors(double yearlyRate) {
+            return factors.computeIfAbsent(yearlyRate, rate -> {
+                double[] table = new double[steps];
+                // A rate of -100% or worse wipes the value out
+                double stepFactor = rate <= -1 ? 0 : growthFactor(rate, yearsPerStep);
+                double factor = 1;
+                for (int k = 0; k < steps; k++) {
+                    factor *= stepFactor;
+                    table[k] = factor;
+                }
+                return table;
+            });
+        }
+
+        public int size() {
+            return factors.size();
+        }
+    }
+
+    private static int monthIndex(int year, int month) {
+        return year * 12 + month - 1;
+    }
+}
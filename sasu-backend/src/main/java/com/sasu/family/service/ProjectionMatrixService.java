@@ -0,0 +1,170 @@
+package com.sasu.family.service;
+
+import com.sasu.family.dto.ProjectionMatrixDTO;
+import com.sasu.family.dto.ProjectionMatrixRequestDTO;
+import com.sasu.family.util.ExchangeRates;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Projection Matrix Service
+ *
+ * Sensitivity tables of the deterministic projections over grids of
+ * growth-rate adjustments, inflation rates and retirement ages.
+ *
+ * Assets and policies are loaded once per request. All cells share one
+ * {@link ProjectionEngine.PowerTable}: the compound factors of each
+ * distinct rate (an adjusted growth rate or an inflation rate) are
+ * computed once, and a cell is a weighted sum of table rows. The asset
+ * series of a rate adjustment is shared by all inflation rates.
+ */
+@Service
+@RequiredArgsConstructor
+public class ProjectionMatrixService {
+
+    public static final int MAX_GRID_SIZE = 20;
+    public static final int MAX_CELLS = 100;
+
+    private static final int DEFAULT_CURRENT_AGE = 35;
+
+    private final FutureProjectionService futureProjectionService;
+    private final AppConfigService appConfigService;
+
+    public ProjectionMatrixDTO getMatrix(ProjectionMatrixRequestDTO request) {
+        int currentAge = request.getCurrentAge() != null ? request.getCurrentAge() : DEFAULT_CURRENT_AGE;
+        int horizonYears = request.getHorizonYears() != null
+                ? request.getHorizonYears() : FutureProjectionService.DEFAULT_HORIZON_YEARS;
+        if (horizonYears < 1 || horizonYears > FutureProjectionService.MAX_HORIZON_YEARS) {
+            throw new IllegalArgumentException("horizonYears must be between 1 and " + FutureProjectionService.MAX_HORIZON_YEARS);
+        }
+        ProjectionEngine.Resolution resolution = ProjectionEngine.Resolution.parse(request.getResolution());
+        if (resolution == ProjectionEngine.Resolution.MONTHLY) {
+            throw new IllegalArgumentException("The projection matrix supports YEARLY and FIVE_YEARLY resolution only");
+        }
+
+        AppConfigSnapshot config = appConfigService.snapshot();
+        ExchangeRates rates = config.getExchangeRates();
+        String reportingCurrency = rates.resolve(request.getCurrency());
+
+        List<BigDecimal> adjustments = grid("rateAdjustments", normalized(request.getRateAdjustments()), List.of(BigDecimal.ZERO));
+        List<BigDecimal> inflations = grid("inflationRates", normalized(request.getInflationRates()), List.of(config.getDecimal(
+                AppConfigService.RETIREMENT_INFLATION_RATE, AppConfigService.DEFAULT_RETIREMENT_INFLATION_RATE)));
+        List<Integer> retirementAges = grid("retirementAges", request.getRetirementAges(),
+                List.of(FutureProjectionService.RETIREMENT_AGE));
+        if (adjustments.size() * inflations.size() > MAX_CELLS) {
+            throw new IllegalArgumentException("At most " + MAX_CELLS + " cells (rateAdjustments x inflationRates) are supported");
+        }
+        if (adjustments.get(0).compareTo(BigDecimal.valueOf(-100)) < 0 || inflations.get(0).compareTo(BigDecimal.valueOf(-100)) <= 0) {
+            throw new IllegalArgumentException("Rate adjustments must be at least -100 and inflation rates above -100");
+        }
+        for (int age : retirementAges) {
+            if (age <= currentAge || age > currentAge + horizonYears) {
+                throw new IllegalArgumentException("Retirement age " + age + " is outside the projected ages "
+                        + (currentAge + 1) + "-" + (currentAge + horizonYears));
+            }
+        }
+
+        LocalDate today = LocalDate.now();
+        ProjectionEngine engine = futureProjectionService.engine(today, rates);
+        ProjectionEngine.PowerTable powers = new ProjectionEngine.PowerTable(horizonYears, ProjectionEngine.Resolution.YEARLY);
+        double[] maturities = new double[horizonYears];
+        for (int year = 1; year <= horizonYears; year++) {
+            maturities[year - 1] = engine.maturities(ProjectionEngine.Resolution.YEARLY,
+                    ProjectionEngine.periodOf(today, year, ProjectionEngine.Resolution.YEARLY));
+        }
+
+        int yearsPerStep = resolution.monthsPerStep() / 12;
+        int steps = horizonYears / yearsPerStep;
+        List<Integer> years = new ArrayList<>(steps);
+        List<Integer> ages = new ArrayList<>(steps);
+        for (int step = 1; step <= steps; step++) {
+            years.add(today.getYear() + step * yearsPerStep);
+            ages.add(currentAge + step * yearsPerStep);
+        }
+
+        double perBaseUnit = BigDecimal.ONE.divide(rates.rateToBase(reportingCurrency), MathContext.DECIMAL64).doubleValue();
+        List<ProjectionMatrixDTO.Cell> cells = new ArrayList<>(adjustments.size() * inflations.size());
+        for (BigDecimal adjustment : adjustments) {
+            double[] total = engine.assetSeries(powers, adjustment.doubleValue() / 100);
+            for (int k = 0; k < horizonYears; k++) {
+                total[k] += maturities[k];
+            }
+            for (BigDecimal inflation : inflations) {
+                double[] deflator = powers.factors(inflation.doubleValue() / 100);
+                List<BigDecimal> nominal = new ArrayList<>(steps);
+                List<BigDecimal> real = new ArrayList<>(steps);
+                for (int step = 1; step <= steps; step++) {
+                    int k = step * yearsPerStep - 1;
+                    nominal.add(amount(total[k] * perBaseUnit));
+                    real.add(amount(total[k] / deflator[k] * perBaseUnit));
+                }
+                List<ProjectionMatrixDTO.RetirementValue> atRetirement = new ArrayList<>(retirementAges.size());
+                for (int age : retirementAges) {
+                    int k = age - currentAge - 1;
+                    atRetirement.add(ProjectionMatrixDTO.RetirementValue.builder()
+                            .retirementAge(age)
+                            .year(today.getYear() + k + 1)
+                            .nominal(amount(total[k] * perBaseUnit))
+                            .real(amount(total[k] / deflator[k] * perBaseUnit))
+                            .build());
+                }
+                cells.add(ProjectionMatrixDTO.Cell.builder()
+                        .rateAdjustment(adjustment)
+                        .inflationRate(inflation)
+                        .nominal(nominal)
+                        .real(real)
+                        .atRetirement(atRetirement)
+                        .build());
+            }
+        }
+
+        return ProjectionMatrixDTO.builder()
+                .currency(reportingCurrency)
+                .currentAge(currentAge)
+                .resolution(resolution.name())
+                .horizonYears(horizonYears)
+                .rateAdjustments(adjustments)
+                .inflationRates(inflations)
+                .retirementAges(retirementAges)
+                .years(years)
+                .ages(ages)
+                .cells(cells)
+                .build();
+    }
+
+    /**
+     * Distinct values in ascending order, or the default for an empty grid
+     */
+    private static <T extends Comparable<T>> List<T> grid(String name, List<T> values, List<T> defaults) {
+        if (values == null || values.isEmpty()) {
+            return defaults;
+        }
+        if (values.contains(null)) {
+            throw new IllegalArgumentException(name + " must not contain null values");
+        }
+        List<T> grid = values.stream().distinct().sorted().toList();
+        if (grid.size() > MAX_GRID_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_GRID_SIZE + " " + name + " are supported");
+        }
+        return grid;
+    }
+
+    /**
+     * 4 and 4.0 are the same grid value
+     */
+    private static List<BigDecimal> normalized(List<BigDecimal> values) {
+        return values == null ? null
+                : values.stream().map(value -> value != null ? value.stripTrailingZeros() : null).toList();
+    }
+
+    private static BigDecimal amount(double value) {
+        return BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP);
+    }
+}
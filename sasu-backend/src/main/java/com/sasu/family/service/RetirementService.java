@@ -0,0 +1,198 @@
+package com.sasu.family.service;
+
+import com.sasu.family.dto.RetirementPlanDTO;
+import com.sasu.family.model.Asset;
+import com.sasu.family.repository.AssetRepository;
+import com.sasu.family.repository.InsuranceRepository;
+import com.sasu.family.util.ExchangeRates;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Retirement Service
+ *
+ * Drawdown analysis behind the "Retirement begins" milestone: how likely
+ * the retirement portfolio is to last from the retirement age to the end
+ * of the horizon, for a grid of inflation-indexed withdrawal rates.
+ *
+ * The portfolio is every liquid or investment asset plus EPF and
+ * retirement funds; the family home, land and vehicles are not drawn
+ * down. Market paths use the Monte Carlo assumptions of the projections.
+ */
+@Service
+@RequiredArgsConstructor
+public class RetirementService {
+
+    public static final int DEFAULT_LIFE_EXPECTANCY = 85;
+    public static final int MAX_AGE = 110;
+    public static final int DEFAULT_PATHS = 5_000;
+    public static final int MAX_PATHS = 20_000;
+    public static final int MAX_WITHDRAWAL_RATES = 25;
+    public static final List<BigDecimal> DEFAULT_WITHDRAWAL_RATES = List.of(
+            new BigDecimal("3"), new BigDecimal("3.5"), new BigDecimal("4"), new BigDecimal("4.5"),
+            new BigDecimal("5"), new BigDecimal("6"), new BigDecimal("7"), new BigDecimal("8"));
+
+    private static final BigDecimal SURVIVAL_TARGET = BigDecimal.valueOf(90);
+
+    private final AssetRepository assetRepository;
+    private final InsuranceRepository insuranceRepository;
+    private final AssetValuationService assetValuationService;
+    private final AppConfigService appConfigService;
+
+    /**
+     * @param withdrawalRates initial yearly withdrawals in percent of the portfolio at retirement, null for the default grid
+     * @param inflationRate   yearly indexation in percent, null for the configured value
+     */
+    public RetirementPlanDTO getRetirementPlan(int currentAge, int retirementAge, int lifeExpectancy, String currency,
+                                               List<BigDecimal> withdrawalRates, BigDecimal inflationRate,
+                                               int paths, long seed) {
+        if (currentAge < 0 || retirementAge < currentAge) {
+            throw new IllegalArgumentException("retirementAge must not be below currentAge");
+        }
+        if (lifeExpectancy <= retirementAge || lifeExpectancy > MAX_AGE
+                || lifeExpectancy - currentAge > FutureProjectionService.MAX_HORIZON_YEARS) {
+            throw new IllegalArgumentException("lifeExpectancy must be after retirementAge, at most " + MAX_AGE
+                    + " and within " + FutureProjectionService.MAX_HORIZON_YEARS + " years");
+        }
+        if (paths < 1 || paths > MAX_PATHS) {
+            throw new IllegalArgumentException("paths must be between 1 and " + MAX_PATHS);
+        }
+        List<BigDecimal> grid = withdrawalRates != null && !withdrawalRates.isEmpty()
+                ? withdrawalRates.stream().distinct().sorted().toList()
+                : DEFAULT_WITHDRAWAL_RATES;
+        if (grid.size() > MAX_WITHDRAWAL_RATES) {
+            throw new IllegalArgumentException("At most " + MAX_WITHDRAWAL_RATES + " withdrawal rates are supported");
+        }
+        if (grid.get(0).signum() <= 0 || grid.get(grid.size() - 1).compareTo(BigDecimal.valueOf(100)) > 0) {
+            throw new IllegalArgumentException("Withdrawal rates must be above 0 and at most 100");
+        }
+
+        AppConfigSnapshot config = appConfigService.snapshot();
+        ExchangeRates rates = config.getExchangeRates();
+        String reportingCurrency = rates.resolve(currency);
+        BigDecimal inflation = inflationRate != null ? inflationRate
+                : config.getDecimal(AppConfigService.RETIREMENT_INFLATION_RATE, AppConfigService.DEFAULT_RETIREMENT_INFLATION_RATE);
+        if (inflation.compareTo(BigDecimal.valueOf(-100)) <= 0) {
+            throw new IllegalArgumentException("inflationRate must be above -100");
+        }
+
+        LocalDate today = LocalDate.now();
+        int yearsToRetirement = retirementAge - currentAge;
+        int retirementYears = lifeExpectancy - retirementAge;
+        List<Asset> portfolio = assetValuationService.valuedCopies(assetRepository.findByActiveTrue(), today).stream()
+                .filter(RetirementService::isRetirementAsset)
+                .toList();
+        MonteCarloSimulator markets = MonteCarloSimulator.of(portfolio, rates,
+                FutureProjectionService.monteCarloAssumptions(config));
+
+        ProjectionEngine policies = ProjectionEngine.of(List.of(), insuranceRepository.findByActiveTrue(), rates);
+        double[] maturities = new double[yearsToRetirement + retirementYears + 1];
+        double maturitiesBefore = 0;
+        double maturitiesAfter = 0;
+        for (int year = 1; year < maturities.length; year++) {
+            maturities[year] = policies.maturities(ProjectionEngine.Resolution.YEARLY,
+                    YearMonth.of(today.getYear() + year, 1));
+            if (year <= yearsToRetirement) maturitiesBefore += maturities[year];
+            else maturitiesAfter += maturities[year];
+        }
+
+        RetirementSimulator simulator = RetirementSimulator.of(markets, maturities, yearsToRetirement,
+                retirementYears, paths, seed);
+        double[] rateFractions = grid.stream().mapToDouble(rate -> rate.doubleValue() / 100).toArray();
+        List<RetirementSimulator.Outcome> outcomes = simulator.evaluate(rateFractions, inflation.doubleValue() / 100);
+
+        double perBaseUnit = BigDecimal.ONE.divide(rates.rateToBase(reportingCurrency), MathContext.DECIMAL64).doubleValue();
+        List<RetirementPlanDTO.WithdrawalOutcome> results = new ArrayList<>(outcomes.size());
+        BigDecimal sustainable = null;
+        for (int i = 0; i < outcomes.size(); i++) {
+            RetirementSimulator.Outcome outcome = outcomes.get(i);
+            BigDecimal survival = percent(outcome.survivalProbability());
+            if (survival.compareTo(SURVIVAL_TARGET) >= 0) {
+                sustainable = grid.get(i);
+            }
+            results.add(RetirementPlanDTO.WithdrawalOutcome.builder()
+                    .withdrawalRate(grid.get(i))
+                    .survivalProbability(survival)
+                    .initialWithdrawal(amount(outcome.initialWithdrawal() * perBaseUnit))
+                    .initialMonthlyWithdrawal(amount(outcome.initialWithdrawal() / 12 * perBaseUnit))
+                    .medianEndingBalance(amount(outcome.medianEndingBalance() * perBaseUnit))
+                    .p10EndingBalance(amount(outcome.p10EndingBalance() * perBaseUnit))
+                    .medianDepletionAge(outcome.depletionYears() >= 0 ? retirementAge + outcome.depletionYears() : null)
+                    .build());
+        }
+
+        double[] atRetirement = simulator.atRetirement();
+        return RetirementPlanDTO.builder()
+                .currency(reportingCurrency)
+                .currentAge(currentAge)
+                .retirementAge(retirementAge)
+                .lifeExpectancy(lifeExpectancy)
+                .retirementYear(today.getYear() + yearsToRetirement)
+                .inflationRate(inflation)
+                .paths(paths)
+                .seed(seed)
+                .portfolioToday(amount(markets.currentValue() * perBaseUnit))
+                .portfolioAtRetirementP10(amount(RetirementSimulator.percentile(atRetirement, 0.10) * perBaseUnit))
+                .portfolioAtRetirementP50(amount(RetirementSimulator.percentile(atRetirement, 0.50) * perBaseUnit))
+                .portfolioAtRetirementP90(amount(RetirementSimulator.percentile(atRetirement, 0.90) * perBaseUnit))
+                .maturitiesBeforeRetirement(amount(maturitiesBefore * perBaseUnit))
+                .maturitiesInRetirement(amount(maturitiesAfter * perBaseUnit))
+                .survivalTarget(SURVIVAL_TARGET)
+                .sustainableWithdrawalRate(sustainable)
+                .results(results)
+                .summary(summary(sustainable, retirementAge, lifeExpectancy))
+                .build();
+    }
+
+    /**
+     * Comma-separated percentages, e.g. "3,3.5,4"
+     */
+    public static List<BigDecimal> parseWithdrawalRates(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Arrays.stream(value.split(","))
+                    .map(String::trim)
+                    .filter(part -> !part.isEmpty())
+                    .map(BigDecimal::new)
+                    .toList();
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid withdrawalRates: " + value);
+        }
+    }
+
+    private static boolean isRetirementAsset(Asset asset) {
+        return Boolean.TRUE.equals(asset.getIsLiquid())
+                || Boolean.TRUE.equals(asset.getIsInvestment())
+                || asset.getType() == Asset.AssetType.EPF
+                || asset.getType() == Asset.AssetType.RETIREMENT_FUND;
+    }
+
+    private static String summary(BigDecimal sustainable, int retirementAge, int lifeExpectancy) {
+        if (sustainable == null) {
+            return "No withdrawal rate in the grid lasts from " + retirementAge + " to " + lifeExpectancy
+                    + " in " + SURVIVAL_TARGET + "% of market paths.";
+        }
+        return "Withdrawing " + sustainable.stripTrailingZeros().toPlainString()
+                + "% of the portfolio from age " + retirementAge + ", indexed to inflation, lasts to "
+                + lifeExpectancy + " in at least " + SURVIVAL_TARGET + "% of market paths.";
+    }
+
+    private static BigDecimal percent(double fraction) {
+        return BigDecimal.valueOf(fraction * 100).setScale(1, RoundingMode.HALF_UP);
+    }
+
+    private static BigDecimal amount(double value) {
+        return BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP);
+    }
+}
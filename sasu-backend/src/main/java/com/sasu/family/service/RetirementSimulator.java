@@ -0,0 +1,169 @@
+package com.sasu.family.service;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Retirement Simulator
+ *
+ * Decumulation on top of the {@link MonteCarloSimulator} paths of the
+ * retirement portfolio. Each path grows until the retirement year, with
+ * insurance maturities received before then reinvested in it. From
+ * retirement on, a withdrawal of (rate x portfolio at retirement) is taken
+ * at the start of every year and indexed to inflation afterwards; the rest
+ * earns that path's return of the year and maturities falling due are
+ * added at its end. A path survives if the portfolio covers every
+ * withdrawal up to the end of the horizon.
+ *
+ * Withdrawals are taken pro rata, so they do not change the asset mix and a
+ * path's yearly returns are the same for every withdrawal rate. The paths
+ * are therefore simulated once and reduced to the portfolio at retirement
+ * and one growth factor per retirement year. Every withdrawal rate is then
+ * evaluated on the same paths (common random numbers), which keeps the
+ * comparison between rates free of sampling noise. The rates are
+ * independent and evaluated in parallel.
+ */
+public final class RetirementSimulator {
+
+    /**
+     * Result of one withdrawal rate, base currency
+     *
+     * @param depletionYears median years after retirement at which failing paths ran out, -1 if none failed
+     */
+    public record Outcome(double withdrawalRate, double survivalProbability, double initialWithdrawal,
+                          double medianEndingBalance, double p10EndingBalance, int depletionYears) {
+    }
+
+    private final int paths;
+    private final int retirementYears;
+    private final double[] atRetirement;    // per path
+    private final double[] growth;          // [path * retirementYears + year]
+    private final double[] inflows;         // maturities received at the end of each retirement year
+
+    private RetirementSimulator(int paths, int retirementYears, double[] atRetirement, double[] growth,
+                                double[] inflows) {
+        this.paths = paths;
+        this.retirementYears = retirementYears;
+        this.atRetirement = atRetirement;
+        this.growth = growth;
+        this.inflows = inflows;
+    }
+
+    /**
+     * @param portfolio         simulator over the retirement portfolio
+     * @param maturities        maturities (base currency) by year from now, index 0 = this year (not counted)
+     * @param yearsToRetirement years until withdrawals start, 0 = now
+     * @param retirementYears   years of withdrawals
+     */
+    public static RetirementSimulator of(MonteCarloSimulator portfolio, double[] maturities, int yearsToRetirement,
+                                         int retirementYears, int paths, long seed) {
+        int years = yearsToRetirement + retirementYears;
+        double[][] totals = portfolio.totals(paths, years, 1, seed);
+        double today = portfolio.currentValue();
+
+        double[] atRetirement = new double[paths];
+        double[] growth = new double[paths * retirementYears];
+        for (int path = 0; path < paths; path++) {
+            double value = total(totals, today, yearsToRetirement, path);
+            for (int year = 1; year <= yearsToRetirement; year++) {
+                value += maturity(maturities, year) * ratio(totals, today, year, yearsToRetirement, path);
+            }
+            atRetirement[path] = value;
+            for (int year = 0; year < retirementYears; year++) {
+                growth[path * retirementYears + year] =
+                        ratio(totals, today, yearsToRetirement + year, yearsToRetirement + year + 1, path);
+            }
+        }
+
+        double[] inflows = new double[retirementYears];
+        for (int year = 0; year < retirementYears; year++) {
+            inflows[year] = maturity(maturities, yearsToRetirement + year + 1);
+        }
+        return new RetirementSimulator(paths, retirementYears, atRetirement, growth, inflows);
+    }
+
+    /**
+     * Sorted portfolio values at retirement, one per path
+     */
+    public double[] atRetirement() {
+        double[] sorted = atRetirement.clone();
+        Arrays.sort(sorted);
+        return sorted;
+    }
+
+    /**
+     * @param withdrawalRates initial withdrawal as a fraction of the portfolio at retirement
+     * @param inflation       yearly indexation of the withdrawal (fraction)
+     */
+    public List<Outcome> evaluate(double[] withdrawalRates, double inflation) {
+        return ForkJoinPool.commonPool().submit(() -> IntStream.range(0, withdrawalRates.length).parallel()
+                .mapToObj(i -> evaluate(withdrawalRates[i], inflation))
+                .toList()).join();
+    }
+
+    private Outcome evaluate(double rate, double inflation) {
+        double[] ending = new double[paths];
+        double[] initial = new double[paths];
+        int[] depleted = new int[paths];
+        int failures = 0;
+        double indexation = 1 + inflation;
+
+        for (int path = 0; path < paths; path++) {
+            double value = atRetirement[path];
+            double withdrawal = rate * value;
+            initial[path] = withdrawal;
+            int offset = path * retirementYears;
+            int failedAt = value > 0 ? -1 : 0;
+            for (int year = 0; year < retirementYears && failedAt < 0; year++) {
+                value -= withdrawal;
+                if (value < 0) {
+                    failedAt = year;
+                    value = 0;
+                    break;
+                }
+                value = value * growth[offset + year] + inflows[year];
+                withdrawal *= indexation;
+            }
+            ending[path] = value;
+            if (failedAt >= 0) {
+                depleted[failures++] = failedAt;
+            }
+        }
+
+        Arrays.sort(ending);
+        Arrays.sort(initial);
+        Arrays.sort(depleted, 0, failures);
+        return new Outcome(rate, (paths - failures) / (double) paths, percentile(initial, 0.50),
+                percentile(ending, 0.50), percentile(ending, 0.10),
+                failures > 0 ? depleted[failures / 2] : -1);
+    }
+
+    public static double percentile(double[] sorted, double p) {
+        if (sorted.length == 0) return 0;
+        double rank = p * (sorted.length - 1);
+        int lower = (int) rank;
+        int upper = Math.min(lower + 1, sorted.length - 1);
+        return sorted[lower] + (sorted[upper] - sorted[lower]) * (rank - lower);
+    }
+
+    /**
+     * Path total after the given number of years, 0 = today
+     */
+    private static double total(double[][] totals, double today, int year, int path) {
+        return year == 0 ? today : totals[year - 1][path];
+    }
+
+    /**
+     * Growth of the path between two years; 1 when the portfolio is empty
+     */
+    private static double ratio(double[][] totals, double today, int from, int to, int path) {
+        double start = total(totals, today, from, path);
+        return start > 0 ? total(totals, today, to, path) / start : 1;
+    }
+
+    private static double maturity(double[] maturities, int year) {
+        return year < maturities.length ? maturities[year] : 0;
+    }
+}
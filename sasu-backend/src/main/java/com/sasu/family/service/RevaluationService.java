@@ -0,0 +1,304 @@
+package com.sasu.family.service;
+
+import com.sasu.family.dto.RevaluationReportDTO;
+import com.sasu.family.model.Asset;
+import com.sasu.family.model.Liability;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Revaluation Service
+ *
+ * Nightly batch job that writes the as-of-today value of every autoGrowth
+ * asset and the live balance of every autoCalculate liability back to the
+ * base tables, so stored values and the SQL sums over them stay current.
+ *
+ * Rows are walked in id order, one chunk per short transaction. Only rows
+ * whose value moved are written, as a single JDBC batch per chunk, together
+ * with the matching household_aggregates adjustment. Between chunks the job
+ * hands the single SQLite connection back and waits while foreground
+ * requests are queued for it.
+ */
+@Service
+@Slf4j
+public class RevaluationService {
+
+    private static final int MAX_YIELD_ROUNDS = 200;
+
+    private static final String SELECT_ASSETS =
+            "SELECT id, type, current_value, purchase_value, valuation_base_value, purchase_year, purchase_date, " +
+            "yearly_growth_rate, currency, is_liquid, is_investment FROM assets " +
+            "WHERE active = 1 AND auto_growth = 1 AND id > ? ORDER BY id LIMIT ?";
+    // Pins the entered value as valuation_base_value on the first write, so growth
+    // is always compounded from it and never from an already-grown value
+    private static final String UPDATE_ASSET =
+            "UPDATE assets SET current_value = ?, valuation_base_value = COALESCE(valuation_base_value, ?), " +
+            "last_updated = ? WHERE id = ?";
+
+    private static final String SELECT_LIABILITIES =
+            "SELECT id, original_amount, remaining_amount, monthly_payment, interest_rate, start_date FROM liabilities " +
+            "WHERE active = 1 AND auto_calculate = 1 AND id > ? ORDER BY id LIMIT ?";
+    private static final String UPDATE_LIABILITY =
+            "UPDATE liabilities SET remaining_amount = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final DataSource dataSource;
+    private final AssetValuationService assetValuationService;
+    private final LiabilityAmortizationService liabilityAmortizationService;
+    private final HouseholdAggregatesService householdAggregatesService;
+    private final DataVersionService dataVersionService;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile RevaluationReportDTO lastReport;
+
+    @Value("${app.revaluation.chunk-size:200}")
+    private int chunkSize;
+
+    @Value("${app.revaluation.pause-ms:20}")
+    private long pauseMs;
+
+    public RevaluationService(JdbcTemplate jdbcTemplate,
+                              PlatformTransactionManager transactionManager,
+                              DataSource dataSource,
+                              AssetValuationService assetValuationService,
+                              LiabilityAmortizationService liabilityAmortizationService,
+                              HouseholdAggregatesService householdAggregatesService,
+                              DataVersionService dataVersionService) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.dataSource = dataSource;
+        this.assetValuationService = assetValuationService;
+        this.liabilityAmortizationService = liabilityAmortizationService;
+        this.householdAggregatesService = householdAggregatesService;
+        this.dataVersionService = dataVersionService;
+    }
+
+    @Scheduled(cron = "${app.revaluation.cron:0 30 2 * * *}")
+    public void nightlyRevaluation() {
+        run("SCHEDULED");
+    }
+
+    /**
+     * Revalue everything as of today
+     *
+     * @return the report, or empty when a run is already in progress
+     */
+    public Optional<RevaluationReportDTO> run(String trigger) {
+        if (!running.compareAndSet(false, true)) {
+            log.info("Revaluation already running, {} trigger skipped", trigger);
+            return Optional.empty();
+        }
+        try {
+            long started = System.nanoTime();
+            RevaluationReportDTO report = RevaluationReportDTO.builder()
+                    .trigger(trigger)
+                    .asOf(LocalDate.now())
+                    .startedAt(LocalDateTime.now())
+                    .build();
+
+            revalueAssets(report);
+            revalueLiabilities(report);
+
+            report.setDurationMs((System.nanoTime() - started) / 1_000_000);
+            lastReport = report;
+            log.info("Revaluation ({}) as of {}: assets {}/{} changed, liabilities {}/{} changed, " +
+                            "{} chunk(s), {} yield(s), {} ms",
+                    trigger, report.getAsOf(),
+                    report.getAssetsChanged(), report.getAssetsScanned(),
+                    report.getLiabilitiesChanged(), report.getLiabilitiesScanned(),
+                    report.getChunks(), report.getYields(), report.getDurationMs());
+            return Optional.of(report);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Report of the most recent completed run, null before the first run
+     */
+    public RevaluationReportDTO getLastReport() {
+        return lastReport;
+    }
+
+    private void revalueAssets(RevaluationReportDTO report) {
+        long afterId = 0;
+        while (true) {
+            long from = afterId;
+            Long lastId = transactionTemplate.execute(status -> revalueAssetChunk(from, report));
+            if (lastId == null || !yieldToForeground(report)) {
+                return;
+            }
+            afterId = lastId;
+        }
+    }
+
+    private void revalueLiabilities(RevaluationReportDTO report) {
+        long afterId = 0;
+        while (true) {
+            long from = afterId;
+            Long lastId = transactionTemplate.execute(status -> revalueLiabilityChunk(from, report));
+            if (lastId == null || !yieldToForeground(report)) {
+                return;
+            }
+            afterId = lastId;
+        }
+    }
+
+    /**
+     * @return id of the last row in the chunk, null when there are no more rows
+     */
+    private Long revalueAssetChunk(long afterId, RevaluationReportDTO report) {
+        List<Asset> chunk = jdbcTemplate.query(SELECT_ASSETS, (rs, i) -> mapAsset(rs), afterId, chunkSize);
+        if (chunk.isEmpty()) {
+            return null;
+        }
+
+        LocalDate asOf = report.getAsOf();
+        List<Object[]> updates = new ArrayList<>();
+        for (Asset stored : chunk) {
+            BigDecimal value = assetValuationService.valueAsOf(stored, asOf);
+            if (value == null || sameAmount(value, stored.getCurrentValue())) {
+                continue;
+            }
+            // Without a purchase value, valueAsOf grew the entered value; keep it as the base
+            BigDecimal base = stored.getPurchaseValue() == null ? AssetValuationService.baseValueOf(stored) : null;
+            updates.add(new Object[]{value, base, Date.valueOf(asOf), stored.getId()});
+            householdAggregatesService.exclude(stored);
+            householdAggregatesService.include(stored.toBuilder().currentValue(value).build());
+        }
+
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_ASSET, updates);
+            dataVersionService.bump(DataVersionService.Scope.ASSETS);
+        }
+        report.setAssetsScanned(report.getAssetsScanned() + chunk.size());
+        report.setAssetsChanged(report.getAssetsChanged() + updates.size());
+        report.setChunks(report.getChunks() + 1);
+        return chunk.get(chunk.size() - 1).getId();
+    }
+
+    private Long revalueLiabilityChunk(long afterId, RevaluationReportDTO report) {
+        List<Liability> chunk = jdbcTemplate.query(SELECT_LIABILITIES, (rs, i) -> mapLiability(rs), afterId, chunkSize);
+        if (chunk.isEmpty()) {
+            return null;
+        }
+
+        LocalDate asOf = report.getAsOf();
+        List<Object[]> updates = new ArrayList<>();
+        for (Liability stored : chunk) {
+            Optional<AmortizationSchedule> schedule = liabilityAmortizationService.scheduleFor(stored);
+            if (schedule.isEmpty()) {
+                continue;
+            }
+            BigDecimal balance = schedule.get().balanceAsOf(asOf);
+            if (sameAmount(balance, stored.getRemainingAmount())) {
+                continue;
+            }
+            // The entered payment is kept; once the balance reaches zero the aggregates drop it
+            updates.add(new Object[]{balance, stored.getId()});
+            householdAggregatesService.exclude(stored);
+            householdAggregatesService.include(stored.toBuilder().remainingAmount(balance).build());
+        }
+
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_LIABILITY, updates);
+            dataVersionService.bump(DataVersionService.Scope.LIABILITIES);
+        }
+        report.setLiabilitiesScanned(report.getLiabilitiesScanned() + chunk.size());
+        report.setLiabilitiesChanged(report.getLiabilitiesChanged() + updates.size());
+        report.setChunks(report.getChunks() + 1);
+        return chunk.get(chunk.size() - 1).getId();
+    }
+
+    /**
+     * Pause between chunks, longer while other threads are waiting for the connection
+     *
+     * @return false when the job thread was interrupted and should stop
+     */
+    private boolean yieldToForeground(RevaluationReportDTO report) {
+        try {
+            if (dataSource instanceof HikariDataSource hikari && hikari.getHikariPoolMXBean() != null) {
+                HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+                if (pool.getThreadsAwaitingConnection() > 0) {
+                    report.setYields(report.getYields() + 1);
+                    for (int i = 0; i < MAX_YIELD_ROUNDS && pool.getThreadsAwaitingConnection() > 0; i++) {
+                        Thread.sleep(Math.max(pauseMs, 1));
+                    }
+                }
+            }
+            if (pauseMs > 0) {
+                Thread.sleep(pauseMs);
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Revaluation interrupted, stopping after the committed chunks");
+            return false;
+        }
+    }
+
+    private static Asset mapAsset(ResultSet rs) throws SQLException {
+        return Asset.builder()
+                .id(rs.getLong("id"))
+                .type(Asset.AssetType.valueOf(rs.getString("type")))
+                .currentValue(rs.getBigDecimal("current_value"))
+                .purchaseValue(rs.getBigDecimal("purchase_value"))
+                .valuationBaseValue(rs.getBigDecimal("valuation_base_value"))
+                .purchaseYear(nullableInt(rs, "purchase_year"))
+                .purchaseDate(rs.getString("purchase_date"))
+                .yearlyGrowthRate(rs.getBigDecimal("yearly_growth_rate"))
+                .currency(rs.getString("currency"))
+                .isLiquid(rs.getBoolean("is_liquid"))
+                .isInvestment(rs.getBoolean("is_investment"))
+                .autoGrowth(true)
+                .active(true)
+                .build();
+    }
+
+    private static Liability mapLiability(ResultSet rs) throws SQLException {
+        Date startDate = rs.getDate("start_date");
+        return Liability.builder()
+                .id(rs.getLong("id"))
+                .originalAmount(rs.getBigDecimal("original_amount"))
+                .remainingAmount(rs.getBigDecimal("remaining_amount"))
+                .monthlyPayment(rs.getBigDecimal("monthly_payment"))
+                .interestRate(rs.getBigDecimal("interest_rate"))
+                .startDate(startDate != null ? startDate.toLocalDate() : null)
+                .autoCalculate(true)
+                .active(true)
+                .build();
+    }
+
+    private static Integer nullableInt(ResultSet rs, String column) throws SQLException {
+        int value = rs.getInt(column);
+        return rs.wasNull() ? null : value;
+    }
+
+    private static boolean sameAmount(BigDecimal a, BigDecimal b) {
+        if (a == null || b == null) {
+            return a == b;
+        }
+        return a.setScale(2, RoundingMode.HALF_UP).compareTo(b.setScale(2, RoundingMode.HALF_UP)) == 0;
+    }
+}
@@ -0,0 +1,177 @@
+package com.sasu.family.service;
+
+import com.sasu.family.dto.ScenarioRequestDTO;
+import com.sasu.family.model.Asset;
+import com.sasu.family.model.Expense;
+import com.sasu.family.model.HouseholdAggregate;
+import com.sasu.family.model.Insurance;
+import com.sasu.family.model.Liability;
+import com.sasu.family.util.ExchangeRates;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Scenario Overlay
+ *
+ * Copy-on-write view of a {@link HouseholdSnapshot} for what-if edits.
+ *
+ * A record list is copied only when a scenario first edits it, and an
+ * edited record is replaced by a builder copy, so the base snapshot (and
+ * any managed entities in it) is never touched and can be shared by all
+ * scenarios of a request.
+ */
+public final class ScenarioOverlay {
+
+    private final HouseholdSnapshot base;
+    private final ExchangeRates rates;
+
+    private List<Asset> assets;
+    private List<Liability> liabilities;
+    private List<Insurance> insurances;
+    private List<Expense> expenses;
+
+    public ScenarioOverlay(HouseholdSnapshot base, ExchangeRates rates) {
+        this.base = base;
+        this.rates = rates;
+    }
+
+    public ScenarioOverlay apply(ScenarioRequestDTO.Edit edit) {
+        if (edit == null || edit.getType() == null) {
+            throw new IllegalArgumentException("Every edit needs a type (PAY_OFF_LIABILITY, ADD_ASSET, CHANGE_EXPENSE, ADD_POLICY)");
+        }
+        switch (edit.getType()) {
+            case PAY_OFF_LIABILITY -> payOffLiability(edit);
+            case ADD_ASSET -> addAsset(edit.getAsset());
+            case CHANGE_EXPENSE -> changeExpense(edit);
+            case ADD_POLICY -> addPolicy(edit.getPolicy());
+        }
+        return this;
+    }
+
+    public HouseholdSnapshot toSnapshot() {
+        return new HouseholdSnapshot(
+                assets != null ? assets : base.assets(),
+                liabilities != null ? liabilities : base.liabilities(),
+                insurances != null ? insurances : base.insurances(),
+                base.incomes(),
+                expenses != null ? expenses : base.expenses());
+    }
+
+    /**
+     * Prepay a liability (liabilities are in the base currency). A full payoff
+     * drops the loan and its EMI; a partial one lowers the balance and keeps
+     * the EMI, shortening the term.
+     */
+    private void payOffLiability(ScenarioRequestDTO.Edit edit) {
+        List<Liability> list = liabilities();
+        int index = indexOf(list, edit.getLiabilityId(), Liability::getId, "Liability");
+        Liability liability = list.get(index);
+        BigDecimal remaining = orZero(liability.getRemainingAmount());
+        BigDecimal amount = edit.getAmount() != null ? edit.getAmount() : remaining;
+        if (amount.signum() <= 0) {
+            throw new IllegalArgumentException("Prepayment amount must be positive");
+        }
+        amount = amount.min(remaining);
+
+        if (amount.compareTo(remaining) >= 0) {
+            list.remove(index);
+        } else {
+            list.set(index, liability.toBuilder()
+                    .remainingAmount(remaining.subtract(amount))
+                    .autoCalculate(false)
+                    .build());
+        }
+
+        if (edit.getFromAssetId() != null) {
+            List<Asset> assetList = assets();
+            int assetIndex = indexOf(assetList, edit.getFromAssetId(), Asset::getId, "Asset");
+            Asset asset = assetList.get(assetIndex);
+            BigDecimal drawn = rates.fromBase(amount, HouseholdAggregate.currencyOf(asset));
+            BigDecimal left = orZero(asset.getCurrentValue()).subtract(drawn);
+            if (left.signum() < 0) {
+                throw new IllegalArgumentException("Asset " + asset.getId() + " cannot fund a prepayment of " + amount);
+            }
+            assetList.set(assetIndex, asset.toBuilder().currentValue(left).autoGrowth(false).build());
+        }
+    }
+
+    private void addAsset(Asset asset) {
+        if (asset == null || asset.getType() == null || asset.getCurrentValue() == null) {
+            throw new IllegalArgumentException("ADD_ASSET needs an asset with type and currentValue");
+        }
+        rates.resolve(asset.getCurrency());
+        assets().add(asset.toBuilder()
+                .id(null)
+                .currency(HouseholdAggregate.currencyOf(asset))
+                .autoGrowth(false)
+                .active(true)
+                .build());
+    }
+
+    private void changeExpense(ScenarioRequestDTO.Edit edit) {
+        List<Expense> list = expenses();
+        int index = indexOf(list, edit.getExpenseId(), Expense::getId, "Expense");
+        if (edit.getAmount() == null || edit.getAmount().signum() < 0) {
+            throw new IllegalArgumentException("CHANGE_EXPENSE needs a non-negative amount");
+        }
+        if (edit.getAmount().signum() == 0) {
+            list.remove(index);
+            return;
+        }
+        Expense expense = list.get(index);
+        list.set(index, expense.toBuilder()
+                .amount(edit.getAmount())
+                .frequency(edit.getFrequency() != null ? edit.getFrequency() : expense.getFrequency())
+                .build());
+    }
+
+    private void addPolicy(Insurance policy) {
+        if (policy == null || policy.getType() == null || policy.getCoverageAmount() == null) {
+            throw new IllegalArgumentException("ADD_POLICY needs a policy with type and coverageAmount");
+        }
+        // Not a managed entity: the request body is bound fresh for this scenario
+        policy.setId(null);
+        policy.setActive(true);
+        insurances().add(policy);
+    }
+
+    private List<Asset> assets() {
+        if (assets == null) assets = new ArrayList<>(base.assets());
+        return assets;
+    }
+
+    private List<Liability> liabilities() {
+        if (liabilities == null) liabilities = new ArrayList<>(base.liabilities());
+        return liabilities;
+    }
+
+    private List<Insurance> insurances() {
+        if (insurances == null) insurances = new ArrayList<>(base.insurances());
+        return insurances;
+    }
+
+    private List<Expense> expenses() {
+        if (expenses == null) expenses = new ArrayList<>(base.expenses());
+        return expenses;
+    }
+
+    private static <T> int indexOf(List<T> list, Long id, Function<T, Long> idOf, String kind) {
+        if (id == null) {
+            throw new IllegalArgumentException(kind + " id is required");
+        }
+        for (int i = 0; i < list.size(); i++) {
+            if (Objects.equals(idOf.apply(list.get(i)), id)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException(kind + " not found or not active: " + id);
+    }
+
+    private static BigDecimal orZero(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
+    }
+}
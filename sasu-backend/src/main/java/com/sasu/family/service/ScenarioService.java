@@ -0,0 +1,116 @@
+package com.sasu.family.service;
+
+import com.sasu.family.dto.DashboardSummaryDTO;
+import com.sasu.family.dto.FutureProjectionDTO;
+import com.sasu.family.dto.ScenarioRequestDTO;
+import com.sasu.family.dto.ScenarioResultDTO;
+import com.sasu.family.util.ExchangeRates;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Scenario Service
+ *
+ * What-if evaluation: hypothetical edits (pay off a liability, add an asset,
+ * change an expense, add a policy) are applied to a {@link ScenarioOverlay}
+ * over one in-memory snapshot of the household, then scored and projected
+ * exactly like the live data. Nothing is written to the database.
+ *
+ * The snapshot is loaded once per request; overlays are built on the
+ * request thread (so bad edits fail fast with 400), and the baseline and
+ * all scenarios are then evaluated in parallel without touching the
+ * single database connection.
+ */
+@Service
+@RequiredArgsConstructor
+public class ScenarioService {
+
+    public static final int MAX_SCENARIOS = 20;
+
+    private static final int DEFAULT_CURRENT_AGE = 35;
+
+    private final HouseholdSnapshotService householdSnapshotService;
+    private final DashboardService dashboardService;
+    private final FutureProjectionService futureProjectionService;
+    private final AppConfigService appConfigService;
+
+    public ScenarioResultDTO evaluate(ScenarioRequestDTO request) {
+        List<ScenarioRequestDTO.Scenario> scenarios = request.getScenarios() != null ? request.getScenarios() : List.of();
+        if (scenarios.isEmpty() || scenarios.size() > MAX_SCENARIOS) {
+            throw new IllegalArgumentException("Between 1 and " + MAX_SCENARIOS + " scenarios are required");
+        }
+        ExchangeRates rates = appConfigService.getExchangeRates();
+        String currency = rates.resolve(request.getCurrency());
+        int currentAge = request.getCurrentAge() != null ? request.getCurrentAge() : DEFAULT_CURRENT_AGE;
+        int horizonYears = request.getHorizonYears() != null
+                ? request.getHorizonYears()
+                : FutureProjectionService.DEFAULT_HORIZON_YEARS;
+        LocalDate today = LocalDate.now();
+
+        HouseholdSnapshot base = householdSnapshotService.loadValued(today);
+
+        List<String> names = new ArrayList<>();
+        List<HouseholdSnapshot> snapshots = new ArrayList<>();
+        names.add("Current");
+        snapshots.add(base);
+        for (int i = 0; i < scenarios.size(); i++) {
+            ScenarioRequestDTO.Scenario scenario = scenarios.get(i);
+            ScenarioOverlay overlay = new ScenarioOverlay(base, rates);
+            if (scenario.getEdits() != null) {
+                scenario.getEdits().forEach(overlay::apply);
+            }
+            names.add(scenario.getName() != null ? scenario.getName() : "Scenario " + (i + 1));
+            snapshots.add(overlay.toSnapshot());
+        }
+
+        List<ScenarioResultDTO.Outcome> outcomes = IntStream.range(0, snapshots.size())
+                .parallel()
+                .mapToObj(i -> outcome(names.get(i), snapshots.get(i), today, rates, currency, currentAge, horizonYears))
+                .toList();
+
+        ScenarioResultDTO.Outcome baseline = outcomes.get(0);
+        return ScenarioResultDTO.builder()
+                .currency(currency)
+                .asOf(today)
+                .baseline(withChanges(baseline, baseline))
+                .scenarios(outcomes.subList(1, outcomes.size()).stream()
+                        .map(outcome -> withChanges(outcome, baseline))
+                        .toList())
+                .build();
+    }
+
+    private ScenarioResultDTO.Outcome outcome(String name, HouseholdSnapshot snapshot, LocalDate today,
+                                              ExchangeRates rates, String currency, int currentAge, int horizonYears) {
+        DashboardSummaryDTO summary = dashboardService.evaluate(snapshot, rates, currency);
+        FutureProjectionDTO projections = futureProjectionService.project(
+                ProjectionEngine.of(snapshot.assets(), snapshot.insurances(), rates), today, rates,
+                currentAge, currency, ProjectionEngine.Resolution.FIVE_YEARLY, horizonYears);
+        return ScenarioResultDTO.Outcome.builder()
+                .name(name)
+                .summary(summary)
+                .projections(projections)
+                .build();
+    }
+
+    private static ScenarioResultDTO.Outcome withChanges(ScenarioResultDTO.Outcome outcome,
+                                                         ScenarioResultDTO.Outcome baseline) {
+        DashboardSummaryDTO summary = outcome.getSummary();
+        DashboardSummaryDTO base = baseline.getSummary();
+        outcome.setScoreChange(summary.getWealthHealthScore() - base.getWealthHealthScore());
+        outcome.setNetWorthChange(summary.getNetWorth().subtract(base.getNetWorth()));
+        outcome.setFreeCashFlowChange(freeCashFlow(summary).subtract(freeCashFlow(base)));
+        outcome.setTotalFutureBenefitsChange(outcome.getProjections().getTotalFutureBenefits()
+                .subtract(baseline.getProjections().getTotalFutureBenefits()));
+        return outcome;
+    }
+
+    private static BigDecimal freeCashFlow(DashboardSummaryDTO summary) {
+        return summary.getMonthlyIncome().subtract(summary.getMonthlyExpenses()).subtract(summary.getTotalMonthlyBurden());
+    }
+}
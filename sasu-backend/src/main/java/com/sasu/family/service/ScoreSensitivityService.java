@@ -0,0 +1,246 @@
+package com.sasu.family.service;
+
+import com.sasu.family.dto.NextActionsDTO;
+import com.sasu.family.model.Asset;
+import com.sasu.family.model.HouseholdAggregate;
+import com.sasu.family.model.Insurance;
+import com.sasu.family.model.Liability;
+import com.sasu.family.util.ExchangeRates;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.IntStream;
+
+/**
+ * Score Sensitivity Service
+ *
+ * "Best next action": how far each controllable input moves the wealth
+ * health score, ranked by points gained per rupee spent.
+ *
+ * Candidate actions are paying down each liability from liquid assets,
+ * moving non-liquid assets into liquid ones, adding LIFE or MEDICAL
+ * cover, and cutting discretionary expenses (raising the savings rate).
+ * Each candidate is scanned over a grid of amounts. The household is
+ * aggregated once; every grid point is scored by
+ * {@link WealthScore#score(double, double, double, double, double, double, double, double, double, int)}
+ * on primitives only, and the candidates are scanned in parallel.
+ */
+@Service
+@RequiredArgsConstructor
+public class ScoreSensitivityService {
+
+    public static final int DEFAULT_TOP = 5;
+    public static final int MAX_TOP = 50;
+    public static final int DEFAULT_STEPS = 500;
+    public static final int MAX_STEPS = 5_000;
+
+    // Largest cover considered, in years of expenses
+    private static final int MAX_LIFE_COVER_YEARS = 20;
+    private static final int MAX_MEDICAL_COVER_YEARS = 5;
+
+    private final HouseholdSnapshotService householdSnapshotService;
+    private final AppConfigService appConfigService;
+
+    private enum ActionType {
+        PAY_DOWN_LIABILITY,
+        MOVE_TO_LIQUID,
+        ADD_LIFE_POLICY,
+        ADD_MEDICAL_POLICY,
+        CUT_EXPENSES
+    }
+
+    /**
+     * @param maxAmount       upper end of the amount grid (base currency)
+     * @param balance         PAY_DOWN_LIABILITY: remaining balance; the EMI drops once it is paid in full
+     * @param payment         PAY_DOWN_LIABILITY: monthly payment
+     * @param investmentShare share of the moved money that was counted as an investment
+     * @param costPerUnit     cost of one unit of amount (premium rate, or 12 for a monthly cut)
+     */
+    private record Candidate(ActionType type, String target, double maxAmount, double balance, double payment,
+                             double investmentShare, double costPerUnit) {
+    }
+
+    private record Best(Candidate candidate, double amount, int gain, double efficiency,
+                        int maxGain, double maxGainAmount) {
+    }
+
+    public NextActionsDTO getNextActions(String currency, int top, int steps) {
+        if (top < 1 || top > MAX_TOP) {
+            throw new IllegalArgumentException("top must be between 1 and " + MAX_TOP);
+        }
+        if (steps < 1 || steps > MAX_STEPS) {
+            throw new IllegalArgumentException("steps must be between 1 and " + MAX_STEPS);
+        }
+        AppConfigSnapshot config = appConfigService.snapshot();
+        ExchangeRates rates = config.getExchangeRates();
+        String reportingCurrency = rates.resolve(currency);
+
+        HouseholdSnapshot snapshot = householdSnapshotService.loadValued(LocalDate.now());
+        WealthScore base = WealthScore.of(DashboardAggregation.of(snapshot, rates));
+        int currentScore = base.score();
+        List<Candidate> candidates = candidates(snapshot, base, rates,
+                config.getDecimal(AppConfigService.LIFE_PREMIUM_RATE, AppConfigService.DEFAULT_LIFE_PREMIUM_RATE).doubleValue() / 100,
+                config.getDecimal(AppConfigService.MEDICAL_PREMIUM_RATE, AppConfigService.DEFAULT_MEDICAL_PREMIUM_RATE).doubleValue() / 100);
+
+        List<Best> ranked = IntStream.range(0, candidates.size())
+                .parallel()
+                .mapToObj(i -> scan(base, currentScore, candidates.get(i), steps))
+                .filter(Objects::nonNull)
+                .sorted(Comparator.comparingDouble(Best::efficiency).reversed())
+                .limit(top)
+                .toList();
+
+        double perBaseUnit = BigDecimal.ONE.divide(rates.rateToBase(reportingCurrency), MathContext.DECIMAL64).doubleValue();
+        List<NextActionsDTO.Action> actions = new ArrayList<>(ranked.size());
+        for (Best best : ranked) {
+            Candidate candidate = best.candidate();
+            double cost = cost(candidate, best.amount()) * perBaseUnit;
+            actions.add(NextActionsDTO.Action.builder()
+                    .type(candidate.type().name())
+                    .target(candidate.target())
+                    .description(describe(candidate.type()))
+                    .amount(amount(best.amount() * perBaseUnit))
+                    .cost(amount(cost))
+                    .scoreGain(best.gain())
+                    .newScore(currentScore + best.gain())
+                    .gainPerMillion(BigDecimal.valueOf(best.gain() / cost * 1_000_000).setScale(4, RoundingMode.HALF_UP))
+                    .maxScoreGain(best.maxGain())
+                    .maxGainAmount(amount(best.maxGainAmount() * perBaseUnit))
+                    .build());
+        }
+
+        return NextActionsDTO.builder()
+                .currency(reportingCurrency)
+                .currentScore(currentScore)
+                .evaluations(candidates.size() * steps)
+                .actions(actions)
+                .build();
+    }
+
+    private static List<Candidate> candidates(HouseholdSnapshot snapshot, WealthScore base, ExchangeRates rates,
+                                              double lifePremiumRate, double medicalPremiumRate) {
+        double liquidInvestments = 0;
+        double nonLiquid = 0;
+        double nonLiquidInvestments = 0;
+        for (Asset asset : snapshot.assets()) {
+            if (asset.getCurrentValue() == null) continue;
+            double value = rates.toBase(asset.getCurrentValue(), HouseholdAggregate.currencyOf(asset)).doubleValue();
+            boolean investment = Boolean.TRUE.equals(asset.getIsInvestment());
+            if (Boolean.TRUE.equals(asset.getIsLiquid())) {
+                if (investment) liquidInvestments += value;
+            } else {
+                nonLiquid += value;
+                if (investment) nonLiquidInvestments += value;
+            }
+        }
+        double liquid = base.liquidAssets();
+        double liquidInvestmentShare = liquid > 0 ? Math.min(1, liquidInvestments / liquid) : 0;
+
+        List<Candidate> candidates = new ArrayList<>();
+        for (Liability liability : snapshot.liabilities()) {
+            double balance = liability.getRemainingAmount() != null ? liability.getRemainingAmount().doubleValue() : 0;
+            double payment = liability.getMonthlyPayment() != null ? liability.getMonthlyPayment().doubleValue() : 0;
+            double payable = Math.min(balance, liquid);
+            if (payable > 0) {
+                candidates.add(new Candidate(ActionType.PAY_DOWN_LIABILITY, liability.getName(), payable, balance,
+                        payment, liquidInvestmentShare, 1));
+            }
+        }
+        if (nonLiquid > 0) {
+            candidates.add(new Candidate(ActionType.MOVE_TO_LIQUID, "Non-liquid assets", nonLiquid, 0, 0,
+                    nonLiquidInvestments / nonLiquid, 1));
+        }
+        double annualExpenses = base.monthlyExpenses() * 12;
+        if (annualExpenses > 0 && lifePremiumRate > 0) {
+            candidates.add(new Candidate(ActionType.ADD_LIFE_POLICY, "Life cover",
+                    annualExpenses * MAX_LIFE_COVER_YEARS, 0, 0, 0, lifePremiumRate));
+        }
+        if (annualExpenses > 0 && medicalPremiumRate > 0) {
+            candidates.add(new Candidate(ActionType.ADD_MEDICAL_POLICY, "Medical cover",
+                    annualExpenses * MAX_MEDICAL_COVER_YEARS, 0, 0, 0, medicalPremiumRate));
+        }
+        double discretionary = base.monthlyExpenses() - base.monthlyEssentialExpenses();
+        if (discretionary > 0) {
+            candidates.add(new Candidate(ActionType.CUT_EXPENSES, "Discretionary expenses", discretionary, 0, 0, 0, 12));
+        }
+        return candidates;
+    }
+
+    /**
+     * Most points per rupee over the amount grid (smallest amount on ties), null if nothing improves the score
+     */
+    private static Best scan(WealthScore base, int currentScore, Candidate candidate, int steps) {
+        double bestAmount = 0;
+        int bestGain = 0;
+        double bestEfficiency = 0;
+        int maxGain = 0;
+        double maxGainAmount = 0;
+        for (int k = 1; k <= steps; k++) {
+            double amount = candidate.maxAmount() * k / steps;
+            int gain = scoreWith(base, candidate, amount) - currentScore;
+            if (gain <= 0) continue;
+            double efficiency = gain / cost(candidate, amount);
+            if (efficiency > bestEfficiency) {
+                bestEfficiency = efficiency;
+                bestAmount = amount;
+                bestGain = gain;
+            }
+            if (gain > maxGain) {
+                maxGain = gain;
+                maxGainAmount = amount;
+            }
+        }
+        return bestGain > 0
+                ? new Best(candidate, bestAmount, bestGain, bestEfficiency, maxGain, maxGainAmount)
+                : null;
+    }
+
+    private static int scoreWith(WealthScore b, Candidate c, double amount) {
+        return switch (c.type()) {
+            case PAY_DOWN_LIABILITY -> WealthScore.score(
+                    b.totalAssets() - amount, b.totalLiabilities() - amount, b.monthlyIncome(), b.monthlyExpenses(),
+                    amount >= c.balance() - 0.005 ? b.monthlyBurden() - c.payment() : b.monthlyBurden(),
+                    b.liquidAssets() - amount, b.monthlyEssentialExpenses(),
+                    b.totalInvestments() - amount * c.investmentShare(), b.totalCoverage(), b.policyTypes());
+            case MOVE_TO_LIQUID -> WealthScore.score(
+                    b.totalAssets(), b.totalLiabilities(), b.monthlyIncome(), b.monthlyExpenses(), b.monthlyBurden(),
+                    b.liquidAssets() + amount, b.monthlyEssentialExpenses(),
+                    b.totalInvestments() - amount * c.investmentShare(), b.totalCoverage(), b.policyTypes());
+            case ADD_LIFE_POLICY, ADD_MEDICAL_POLICY -> WealthScore.score(
+                    b.totalAssets(), b.totalLiabilities(), b.monthlyIncome(), b.monthlyExpenses(), b.monthlyBurden(),
+                    b.liquidAssets(), b.monthlyEssentialExpenses(), b.totalInvestments(),
+                    b.totalCoverage() + amount, b.policyTypes() | WealthScore.policyBit(
+                            c.type() == ActionType.ADD_LIFE_POLICY ? Insurance.InsuranceType.LIFE : Insurance.InsuranceType.MEDICAL));
+            case CUT_EXPENSES -> WealthScore.score(
+                    b.totalAssets(), b.totalLiabilities(), b.monthlyIncome(), b.monthlyExpenses() - amount,
+                    b.monthlyBurden(), b.liquidAssets(), b.monthlyEssentialExpenses(), b.totalInvestments(),
+                    b.totalCoverage(), b.policyTypes());
+        };
+    }
+
+    private static double cost(Candidate candidate, double amount) {
+        return amount * candidate.costPerUnit();
+    }
+
+    private static String describe(ActionType type) {
+        return switch (type) {
+            case PAY_DOWN_LIABILITY -> "Pay down the loan from liquid assets (a full payoff also removes its EMI)";
+            case MOVE_TO_LIQUID -> "Move money from non-liquid assets into liquid savings";
+            case ADD_LIFE_POLICY -> "Add life insurance cover; cost is the estimated yearly premium";
+            case ADD_MEDICAL_POLICY -> "Add medical insurance cover; cost is the estimated yearly premium";
+            case CUT_EXPENSES -> "Cut discretionary monthly expenses to raise the savings rate; cost is one year of the cut";
+        };
+    }
+
+    private static BigDecimal amount(double value) {
+        return BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,284 @@
+package com.sasu.family.service;
+
+import com.sasu.family.dto.DashboardSummaryDTO;
+import com.sasu.family.dto.ScoreBreakdownDTO;
+import com.sasu.family.dto.StressTestRequestDTO;
+import com.sasu.family.dto.StressTestResultDTO;
+import com.sasu.family.model.Asset;
+import com.sasu.family.model.Income;
+import com.sasu.family.model.Liability;
+import com.sasu.family.util.ExchangeRates;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Stress Test Service
+ *
+ * Applies shocks (loan rates up, income down, asset values down per type,
+ * exchange-rate moves) to one immutable snapshot of the household valued
+ * as of today and rescores every shocked copy with the dashboard's
+ * six-pillar score. Shocked records are builder copies, so the snapshot is
+ * shared read-only and all shocks are evaluated in parallel without
+ * touching the database.
+ *
+ * A rate rise reprices each interest-bearing loan's EMI over its
+ * remaining term, which is what moves debt-to-income.
+ */
+@Service
+@RequiredArgsConstructor
+public class StressTestService {
+
+    public static final int MAX_SHOCKS = 30;
+
+    private static final String[] PILLARS = {"netWorth", "cashFlow", "debt", "liquidity", "investment", "protection"};
+    private static final String[] PILLAR_NAMES = {"Net Worth", "Cash Flow", "Debt", "Liquidity", "Investment", "Protection"};
+    private static final String CRITICAL = "Critical";
+    private static final BigDecimal MIN_CHANGE = BigDecimal.valueOf(-100);
+
+    private final HouseholdSnapshotService householdSnapshotService;
+    private final DashboardService dashboardService;
+    private final AppConfigService appConfigService;
+
+    public StressTestResultDTO run(StressTestRequestDTO request) {
+        ExchangeRates rates = appConfigService.getExchangeRates();
+        String currency = rates.resolve(request.getCurrency());
+        List<StressTestRequestDTO.Shock> shocks = request.getShocks() != null && !request.getShocks().isEmpty()
+                ? request.getShocks()
+                : defaultShocks(rates);
+        if (shocks.size() > MAX_SHOCKS) {
+            throw new IllegalArgumentException("At most " + MAX_SHOCKS + " shocks are supported");
+        }
+        List<ExchangeRates> shockedRates = new ArrayList<>(shocks.size());
+        for (StressTestRequestDTO.Shock shock : shocks) {
+            shockedRates.add(validate(shock, rates));
+        }
+
+        LocalDate today = LocalDate.now();
+        HouseholdSnapshot base = householdSnapshotService.loadValued(today);
+
+        List<DashboardSummaryDTO> summaries = IntStream.rangeClosed(0, shocks.size())
+                .parallel()
+                .mapToObj(i -> i == 0
+                        ? dashboardService.evaluate(base, rates, ExchangeRates.BASE_CURRENCY)
+                        : dashboardService.evaluate(apply(base, shocks.get(i - 1)), shockedRates.get(i - 1),
+                                ExchangeRates.BASE_CURRENCY))
+                .toList();
+
+        DashboardSummaryDTO baseline = summaries.get(0);
+        List<StressTestResultDTO.Row> rows = new ArrayList<>(shocks.size());
+        for (int i = 0; i < shocks.size(); i++) {
+            String name = shocks.get(i).getName() != null ? shocks.get(i).getName() : "Shock " + (i + 1);
+            rows.add(row(name, summaries.get(i + 1), baseline, rates, currency));
+        }
+        return StressTestResultDTO.builder()
+                .currency(currency)
+                .asOf(today)
+                .baseline(row("Current", baseline, baseline, rates, currency))
+                .shocks(rows)
+                .build();
+    }
+
+    /**
+     * Checks the shock and returns the exchange rates it implies
+     */
+    private static ExchangeRates validate(StressTestRequestDTO.Shock shock, ExchangeRates rates) {
+        if (shock == null) {
+            throw new IllegalArgumentException("Shocks must not be null");
+        }
+        if (shock.getIncomeChange() != null && shock.getIncomeChange().compareTo(MIN_CHANGE) < 0) {
+            throw new IllegalArgumentException("incomeChange must be at least -100");
+        }
+        if (shock.getAssetChanges() != null) {
+            shock.getAssetChanges().forEach((type, change) -> {
+                if (type == null || change == null || change.compareTo(MIN_CHANGE) < 0) {
+                    throw new IllegalArgumentException("assetChanges need an asset type and a change of at least -100");
+                }
+            });
+        }
+        if (shock.getFxChanges() == null || shock.getFxChanges().isEmpty()) {
+            return rates;
+        }
+        Map<String, BigDecimal> shocked = new HashMap<>();
+        for (String currency : rates.currencies()) {
+            shocked.put(currency, rates.rateToBase(currency));
+        }
+        shock.getFxChanges().forEach((currency, change) -> {
+            String resolved = rates.resolve(currency);
+            if (resolved.equals(ExchangeRates.BASE_CURRENCY)) {
+                throw new IllegalArgumentException("fxChanges are relative to " + ExchangeRates.BASE_CURRENCY
+                        + "; it cannot move itself");
+            }
+            if (change == null || change.compareTo(MIN_CHANGE) <= 0) {
+                throw new IllegalArgumentException("fxChanges must be above -100");
+            }
+            shocked.put(resolved, shocked.get(resolved).multiply(factor(change)));
+        });
+        return new ExchangeRates(shocked);
+    }
+
+    private static HouseholdSnapshot apply(HouseholdSnapshot base, StressTestRequestDTO.Shock shock) {
+        List<Asset> assets = base.assets();
+        if (shock.getAssetChanges() != null && !shock.getAssetChanges().isEmpty()) {
+            Map<Asset.AssetType, BigDecimal> changes = new EnumMap<>(shock.getAssetChanges());
+            assets = assets.stream()
+                    .map(asset -> {
+                        BigDecimal change = changes.get(asset.getType());
+                        if (change == null || asset.getCurrentValue() == null) return asset;
+                        return asset.toBuilder().currentValue(scaled(asset.getCurrentValue(), change)).build();
+                    })
+                    .toList();
+        }
+
+        List<Income> incomes = base.incomes();
+        if (shock.getIncomeChange() != null && shock.getIncomeChange().signum() != 0) {
+            incomes = incomes.stream()
+                    .map(income -> income.getAmount() == null ? income
+                            : income.toBuilder().amount(scaled(income.getAmount(), shock.getIncomeChange())).build())
+                    .toList();
+        }
+
+        List<Liability> liabilities = base.liabilities();
+        if (shock.getLoanRateChange() != null && shock.getLoanRateChange().signum() != 0) {
+            liabilities = liabilities.stream()
+                    .map(liability -> repriced(liability, shock.getLoanRateChange()))
+                    .toList();
+        }
+
+        return new HouseholdSnapshot(assets, liabilities, base.insurances(), incomes, base.expenses());
+    }
+
+    /**
+     * Copy with the rate moved and the EMI recomputed over the remaining term;
+     * loans without interest or without a running balance are left alone
+     */
+    private static Liability repriced(Liability liability, BigDecimal change) {
+        BigDecimal oldRate = liability.getInterestRate();
+        double balance = liability.getRemainingAmount() != null ? liability.getRemainingAmount().doubleValue() : 0;
+        double payment = liability.getMonthlyPayment() != null ? liability.getMonthlyPayment().doubleValue() : 0;
+        if (oldRate == null || oldRate.signum() <= 0 || balance <= 0 || payment <= 0) {
+            return liability;
+        }
+        BigDecimal newRate = oldRate.add(change).max(BigDecimal.ZERO);
+        double from = oldRate.doubleValue() / 100 / 12;
+        double to = newRate.doubleValue() / 100 / 12;
+
+        double newPayment;
+        if (payment <= balance * from) {
+            // Not amortizing: the payment only moves with the interest
+            newPayment = payment + balance * (to - from);
+        } else {
+            double months = -Math.log(1 - from * balance / payment) / Math.log1p(from);
+            newPayment = to == 0 ? balance / months : balance * to / (1 - Math.pow(1 + to, -months));
+        }
+        return liability.toBuilder()
+                .interestRate(newRate)
+                .monthlyPayment(BigDecimal.valueOf(newPayment).setScale(2, RoundingMode.HALF_UP))
+                .build();
+    }
+
+    private static StressTestResultDTO.Row row(String name, DashboardSummaryDTO summary, DashboardSummaryDTO baseline,
+                                               ExchangeRates rates, String currency) {
+        ScoreBreakdownDTO breakdown = summary.getScoreBreakdown();
+        ScoreBreakdownDTO base = baseline.getScoreBreakdown();
+        int[] scores = pillarScores(breakdown);
+        int[] baseScores = pillarScores(base);
+        String[] statuses = pillarStatuses(breakdown);
+        String[] baseStatuses = pillarStatuses(base);
+
+        Map<String, Integer> pillarScores = new LinkedHashMap<>();
+        Map<String, Integer> pillarChanges = new LinkedHashMap<>();
+        List<String> statusChanges = new ArrayList<>();
+        List<String> newlyCritical = new ArrayList<>();
+        for (int p = 0; p < PILLARS.length; p++) {
+            pillarScores.put(PILLARS[p], scores[p]);
+            pillarChanges.put(PILLARS[p], scores[p] - baseScores[p]);
+            if (!statuses[p].equals(baseStatuses[p])) {
+                statusChanges.add(PILLAR_NAMES[p] + ": " + baseStatuses[p] + " -> " + statuses[p]);
+                if (CRITICAL.equals(statuses[p])) newlyCritical.add(PILLAR_NAMES[p]);
+            }
+        }
+        if (!summary.getWealthHealthLabel().equals(baseline.getWealthHealthLabel())) {
+            statusChanges.add(0, "Overall: " + baseline.getWealthHealthLabel() + " -> " + summary.getWealthHealthLabel());
+            if (CRITICAL.equals(summary.getWealthHealthLabel())) newlyCritical.add(0, "Overall");
+        }
+
+        BigDecimal surplus = breakdown.getMonthlySurplus();
+        BigDecimal baseSurplus = base.getMonthlySurplus();
+        return StressTestResultDTO.Row.builder()
+                .name(name)
+                .wealthHealthScore(summary.getWealthHealthScore())
+                .scoreChange(summary.getWealthHealthScore() - baseline.getWealthHealthScore())
+                .wealthHealthLabel(summary.getWealthHealthLabel())
+                .pillarScores(pillarScores)
+                .pillarChanges(pillarChanges)
+                .netWorth(rates.fromBase(summary.getNetWorth(), currency))
+                .netWorthChange(rates.fromBase(summary.getNetWorth().subtract(baseline.getNetWorth()), currency))
+                .monthlySurplus(rates.fromBase(surplus, currency))
+                .monthlySurplusChange(rates.fromBase(surplus.subtract(baseSurplus), currency))
+                .debtToIncomeRatio(breakdown.getDebtToIncomeRatio())
+                .debtToIncomeChange(breakdown.getDebtToIncomeRatio().subtract(base.getDebtToIncomeRatio()))
+                .emergencyFundMonths(breakdown.getEmergencyFundMonths())
+                .emergencyFundMonthsChange(breakdown.getEmergencyFundMonths().subtract(base.getEmergencyFundMonths()))
+                .statusChanges(statusChanges)
+                .newlyCritical(newlyCritical)
+                .build();
+    }
+
+    private static int[] pillarScores(ScoreBreakdownDTO breakdown) {
+        return new int[]{breakdown.getNetWorthScore(), breakdown.getCashFlowScore(), breakdown.getDebtScore(),
+                breakdown.getLiquidityScore(), breakdown.getInvestmentScore(), breakdown.getProtectionScore()};
+    }
+
+    private static String[] pillarStatuses(ScoreBreakdownDTO breakdown) {
+        return new String[]{breakdown.getNetWorthStatus(), breakdown.getCashFlowStatus(), breakdown.getDebtStatus(),
+                breakdown.getLiquidityStatus(), breakdown.getInvestmentStatus(), breakdown.getProtectionStatus()};
+    }
+
+    private static List<StressTestRequestDTO.Shock> defaultShocks(ExchangeRates rates) {
+        Map<String, BigDecimal> foreignDown = new LinkedHashMap<>();
+        for (String currency : rates.currencies()) {
+            if (!currency.equals(ExchangeRates.BASE_CURRENCY)) foreignDown.put(currency, BigDecimal.valueOf(-20));
+        }
+        List<StressTestRequestDTO.Shock> shocks = new ArrayList<>();
+        shocks.add(shock("Loan rates +2%").loanRateChange(BigDecimal.valueOf(2)).build());
+        shocks.add(shock("Loan rates +5%").loanRateChange(BigDecimal.valueOf(5)).build());
+        shocks.add(shock("Income -20%").incomeChange(BigDecimal.valueOf(-20)).build());
+        shocks.add(shock("Income -50%").incomeChange(BigDecimal.valueOf(-50)).build());
+        shocks.add(shock("Share market -40%")
+                .assetChanges(Map.of(Asset.AssetType.SHARES, BigDecimal.valueOf(-40))).build());
+        shocks.add(shock("Property -20%").assetChanges(Map.of(
+                Asset.AssetType.LAND, BigDecimal.valueOf(-20), Asset.AssetType.HOUSE, BigDecimal.valueOf(-20))).build());
+        if (!foreignDown.isEmpty()) {
+            shocks.add(shock("Foreign currencies -20%").fxChanges(foreignDown).build());
+        }
+        shocks.add(shock("Rates +3%, income -20%, shares -30%")
+                .loanRateChange(BigDecimal.valueOf(3))
+                .incomeChange(BigDecimal.valueOf(-20))
+                .assetChanges(Map.of(Asset.AssetType.SHARES, BigDecimal.valueOf(-30)))
+                .build());
+        return shocks;
+    }
+
+    private static StressTestRequestDTO.Shock.ShockBuilder shock(String name) {
+        return StressTestRequestDTO.Shock.builder().name(name);
+    }
+
+    private static BigDecimal factor(BigDecimal percentChange) {
+        return BigDecimal.ONE.add(percentChange.movePointLeft(2));
+    }
+
+    private static BigDecimal scaled(BigDecimal amount, BigDecimal percentChange) {
+        return amount.multiply(factor(percentChange)).setScale(2, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,176 @@
+package com.sasu.family.service;
+
+import com.sasu.family.model.Insurance;
+
+/**
+ * Wealth Score
+ *
+ * The six pillar calculators of the wealth health score over primitive
+ * inputs. {@link DashboardService} scores through the pillar methods;
+ * {@link #score()} runs the whole score from raw totals without creating
+ * any objects, for callers that evaluate it thousands of times.
+ *
+ * Ratios are rounded the way the dashboard rounds them (4 decimals,
+ * percentages to 2, months and coverage years to 1) before the thresholds
+ * are applied, so both paths give the same score for the same totals.
+ *
+ * @param policyTypes bit set of held policy types, see {@link #policyBit}
+ */
+public record WealthScore(double totalAssets, double totalLiabilities, double monthlyIncome, double monthlyExpenses,
+                          double monthlyBurden, double liquidAssets, double monthlyEssentialExpenses,
+                          double totalInvestments, double totalCoverage, int policyTypes) {
+
+    private static final double[] SCALES = {1, 10, 100, 1_000, 10_000};
+
+    public static WealthScore of(DashboardAggregation aggregation) {
+        int policyTypes = 0;
+        for (Insurance.InsuranceType type : Insurance.InsuranceType.values()) {
+            if (aggregation.hasInsurance(type)) policyTypes |= policyBit(type);
+        }
+        return new WealthScore(
+                aggregation.getTotalAssets().doubleValue(),
+                aggregation.getTotalLiabilities().doubleValue(),
+                aggregation.getMonthlyIncome().doubleValue(),
+                aggregation.getMonthlyExpenses().doubleValue(),
+                aggregation.getMonthlyBurden().doubleValue(),
+                aggregation.getLiquidAssets().doubleValue(),
+                aggregation.getMonthlyEssentialExpenses().doubleValue(),
+                aggregation.getTotalInvestments().doubleValue(),
+                aggregation.getTotalCoverage().doubleValue(),
+                policyTypes);
+    }
+
+    public static int policyBit(Insurance.InsuranceType type) {
+        return 1 << type.ordinal();
+    }
+
+    public int score() {
+        return score(totalAssets, totalLiabilities, monthlyIncome, monthlyExpenses, monthlyBurden, liquidAssets,
+                monthlyEssentialExpenses, totalInvestments, totalCoverage, policyTypes);
+    }
+
+    /**
+     * Wealth health score (0-100) from raw base-currency totals
+     */
+    public static int score(double totalAssets, double totalLiabilities, double monthlyIncome, double monthlyExpenses,
+                            double monthlyBurden, double liquidAssets, double monthlyEssentialExpenses,
+                            double totalInvestments, double totalCoverage, int policyTypes) {
+        double netWorth = totalAssets - totalLiabilities;
+        double annualExpenses = monthlyExpenses * 12;
+        return netWorthScore(netWorth, totalAssets, totalAssets > 0 ? round(netWorth / totalAssets, 4) : 0)
+                + cashFlowScore(monthlyIncome > 0 ? round((monthlyIncome - monthlyExpenses) / monthlyIncome * 100, 2) : 0)
+                + debtScore(monthlyIncome > 0 ? round(monthlyBurden / monthlyIncome * 100, 2) : 0,
+                        totalAssets > 0 ? round(totalLiabilities / totalAssets, 4) : 1)
+                + liquidityScore(monthlyEssentialExpenses > 0 ? round(liquidAssets / monthlyEssentialExpenses, 1) : 0)
+                + investmentScore(totalAssets > 0 ? round(totalInvestments / totalAssets * 100, 2) : 0)
+                + protectionScore(annualExpenses > 0 ? round(totalCoverage / annualExpenses, 1) : 0,
+                        has(policyTypes, Insurance.InsuranceType.MEDICAL),
+                        has(policyTypes, Insurance.InsuranceType.LIFE),
+                        has(policyTypes, Insurance.InsuranceType.EDUCATION),
+                        has(policyTypes, Insurance.InsuranceType.VEHICLE),
+                        has(policyTypes, Insurance.InsuranceType.HOME));
+    }
+
+    // 1. Net Worth Score (0-25)
+    public static int netWorthScore(double netWorth, double totalAssets, double netWorthRatio) {
+        if (netWorth <= 0) return 0;
+        if (totalAssets == 0) return 0;
+
+        // Positive net worth starts at 10 points
+        int baseScore = 10;
+
+        // Add points based on net worth to assets ratio (the ratio has 4 decimals, so 1e-9 only absorbs float error)
+        int ratioPoints = Math.min(10, (int) Math.floor(netWorthRatio * 20 + 1e-9));
+
+        // Add points for absolute net worth (every 1M = 1 point, max 5)
+        int absolutePoints = Math.min(5, (int) Math.floor(netWorth / 1_000_000));
+
+        return Math.min(25, baseScore + ratioPoints + absolutePoints);
+    }
+
+    // 2. Cash Flow Score (0-20)
+    public static int cashFlowScore(double savingsRate) {
+        if (savingsRate <= 0) return 0;
+        if (savingsRate < 10) return 5;  // < 10% weak
+        if (savingsRate < 20) return 12; // 10-20% average
+        if (savingsRate < 30) return 16; // 20-30% strong
+        return 20; // 30%+ excellent
+    }
+
+    // 3. Debt Score (0-15)
+    public static int debtScore(double debtToIncomeRatio, double debtRatio) {
+        int score = 15;
+
+        // Penalty based on debt-to-income ratio
+        if (debtToIncomeRatio >= 30) {
+            score -= 7; // High DTI
+        } else if (debtToIncomeRatio >= 20) {
+            score -= 3; // Moderate DTI
+        }
+
+        // Penalty based on debt ratio
+        if (debtRatio >= 0.5) {
+            score -= 5; // Debt > 50% of assets
+        } else if (debtRatio >= 0.3) {
+            score -= 2; // Debt 30-50% of assets
+        }
+
+        return Math.max(0, score);
+    }
+
+    // 4. Liquidity Score (0-15)
+    public static int liquidityScore(double emergencyMonths) {
+        if (emergencyMonths >= 12) return 15; // 12+ months excellent
+        if (emergencyMonths >= 6) return 12;  // 6-12 months strong
+        if (emergencyMonths >= 3) return 8;   // 3-6 months stable
+        if (emergencyMonths >= 1) return 4;   // 1-3 months weak
+        return 0; // < 1 month critical
+    }
+
+    // 5. Investment Score (0-15)
+    public static int investmentScore(double investmentRatio) {
+        if (investmentRatio >= 50) return 15; // 50%+ excellent
+        if (investmentRatio >= 30) return 12; // 30-50% strong
+        if (investmentRatio >= 15) return 8;  // 15-30% moderate
+        if (investmentRatio >= 5) return 4;   // 5-15% weak
+        return 0; // < 5% poor
+    }
+
+    // 6. Protection Score (0-10)
+    public static int protectionScore(double coverageRatio, boolean hasHealth, boolean hasLife,
+                                      boolean hasEducation, boolean hasVehicle, boolean hasHome) {
+        int score = 0;
+
+        // Coverage ratio points (max 4)
+        if (coverageRatio >= 10) score += 4; // 10+ years covered
+        else if (coverageRatio >= 5) score += 3; // 5-10 years
+        else if (coverageRatio >= 2) score += 2; // 2-5 years
+        else if (coverageRatio >= 1) score += 1; // 1-2 years
+
+        // Essential insurance points (max 6)
+        // Life & Health are most critical (2 points each)
+        if (hasLife) score += 2;
+        if (hasHealth) score += 2;
+
+        // Other important insurances (1 point each, max 2 additional)
+        int otherInsCount = 0;
+        if (hasEducation) otherInsCount++;
+        if (hasVehicle) otherInsCount++;
+        if (hasHome) otherInsCount++;
+        score += Math.min(2, otherInsCount); // Cap at 2 additional points
+
+        return Math.min(10, score);
+    }
+
+    private static boolean has(int policyTypes, Insurance.InsuranceType type) {
+        return (policyTypes & policyBit(type)) != 0;
+    }
+
+    /**
+     * Half-up rounding to the given number of decimals
+     */
+    private static double round(double value, int decimals) {
+        double scale = SCALES[decimals];
+        return Math.round(value * scale) / scale;
+    }
+}
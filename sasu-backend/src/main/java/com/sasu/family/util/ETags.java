@@ -0,0 +1,89 @@
+package com.sasu.family.util;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.function.Supplier;
+
+/**
+ * ETags
+ *
+ * Strong entity tags derived from whatever determines a response
+ * (data version stamps, request parameters), never from the body itself.
+ *
+ * Because the tag is known before any data is loaded, a matching
+ * If-None-Match is answered with 304 without touching the repositories
+ * or serializing anything.
+ */
+public final class ETags {
+
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private ETags() {
+    }
+
+    /**
+     * Quoted strong ETag for the given parts
+     */
+    public static String strong(Object... parts) {
+        StringBuilder key = new StringBuilder();
+        for (Object part : parts) {
+            key.append(part).append('|');
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.toString().getBytes(StandardCharsets.UTF_8));
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(digest).substring(0, 22) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * 304 when If-None-Match already names the tag; otherwise the response
+     * from the supplier, tagged when successful. Clients must revalidate
+     * before reusing a stored copy.
+     */
+    public static <T> ResponseEntity<T> conditional(String ifNoneMatch, String etag, Supplier<ResponseEntity<T>> response) {
+        if (matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(REVALIDATE)
+                    .build();
+        }
+        ResponseEntity<T> fresh = response.get();
+        if (!fresh.getStatusCode().is2xxSuccessful()) {
+            return fresh;
+        }
+        return ResponseEntity.status(fresh.getStatusCode())
+                .headers(fresh.getHeaders())
+                .eTag(etag)
+                .cacheControl(REVALIDATE)
+                .body(fresh.getBody());
+    }
+
+    /**
+     * Weak comparison as required for If-None-Match ("*", lists and W/ prefixes allowed)
+     */
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        String tag = opaque(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.equals("*") || opaque(value).equals(tag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String opaque(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+}
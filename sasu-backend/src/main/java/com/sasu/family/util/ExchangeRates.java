@@ -0,0 +1,77 @@
+package com.sasu.family.util;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Exchange Rates
+ *
+ * Immutable set of rates into the base currency (LKR), taken once per
+ * computation so every amount in a result is converted at the same rates.
+ *
+ * Amounts are summed per currency first and each sum is converted once.
+ * A currency without a rate converts 1:1, which is how amounts were
+ * added up before currencies were taken into account.
+ */
+public final class ExchangeRates {
+
+    public static final String BASE_CURRENCY = "LKR";
+
+    private final Map<String, BigDecimal> ratesToBase;
+
+    /**
+     * @param ratesToBase base-currency units per unit of each currency
+     */
+    public ExchangeRates(Map<String, BigDecimal> ratesToBase) {
+        Map<String, BigDecimal> rates = new TreeMap<>();
+        ratesToBase.forEach((currency, rate) -> rates.put(normalize(currency), rate));
+        rates.put(BASE_CURRENCY, BigDecimal.ONE);
+        this.ratesToBase = Collections.unmodifiableMap(rates);
+    }
+
+    public Set<String> currencies() {
+        return ratesToBase.keySet();
+    }
+
+    public boolean supports(String currency) {
+        return ratesToBase.containsKey(normalize(currency));
+    }
+
+    /**
+     * Validated reporting currency; null or blank means the base currency
+     */
+    public String resolve(String currency) {
+        String normalized = normalize(currency);
+        if (!ratesToBase.containsKey(normalized)) {
+            throw new IllegalArgumentException("Unsupported currency: " + currency
+                    + " (supported: " + String.join(", ", currencies()) + ")");
+        }
+        return normalized;
+    }
+
+    public BigDecimal rateToBase(String currency) {
+        return ratesToBase.getOrDefault(normalize(currency), BigDecimal.ONE);
+    }
+
+    public BigDecimal toBase(BigDecimal amount, String currency) {
+        if (amount == null) return null;
+        BigDecimal rate = rateToBase(currency);
+        return rate.compareTo(BigDecimal.ONE) == 0 ? amount : amount.multiply(rate).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    public BigDecimal fromBase(BigDecimal amount, String currency) {
+        if (amount == null) return null;
+        BigDecimal rate = rateToBase(currency);
+        return rate.compareTo(BigDecimal.ONE) == 0 ? amount
+                : amount.divide(rate, MathContext.DECIMAL64).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    public static String normalize(String currency) {
+        return currency == null || currency.isBlank() ? BASE_CURRENCY : currency.trim().toUpperCase();
+    }
+}
@@ -0,0 +1,92 @@
+package com.sasu.family.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * LRU Cache
+ *
+ * Small thread-safe map bounded to a maximum number of entries.
+ * The least recently used entry is dropped once the bound is reached.
+ *
+ * Lookups through {@link #computeIfAbsent} are counted as hits and misses.
+ */
+public class LruCache<K, V> {
+
+    private final Map<K, V> entries;
+    private final int maxEntries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public LruCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                if (size() > maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public synchronized V get(K key) {
+        return entries.get(key);
+    }
+
+    public synchronized void put(K key, V value) {
+        entries.put(key, value);
+    }
+
+    public synchronized V remove(K key) {
+        return entries.remove(key);
+    }
+
+    /**
+     * Return the cached value, computing it outside the lock on a miss.
+     * Concurrent misses for the same key may compute twice; the last one wins.
+     */
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> loader) {
+        V value = get(key);
+        if (value != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+            value = loader.apply(key);
+            if (value != null) {
+                put(key, value);
+            }
+        }
+        return value;
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Entry count, bound and hit/miss/eviction counters since start
+     */
+    public Map<String, Object> stats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long lookups = hitCount + missCount;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("size", size());
+        stats.put("maxSize", maxEntries);
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("evictions", evictions.sum());
+        stats.put("hitRatio", lookups > 0 ? Math.round(hitCount * 1000.0 / lookups) / 1000.0 : 0.0);
+        return stats;
+    }
+}
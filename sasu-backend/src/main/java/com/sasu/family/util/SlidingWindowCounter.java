@@ -0,0 +1,83 @@
+package com.sasu.family.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Sliding Window Counter
+ *
+ * Lock-free count of events over the last window, kept in a ring of fixed
+ * time slots. Each slot packs its slot number and its count into one long
+ * that is updated by compare-and-set, so a slot left over from an earlier
+ * turn of the ring is recognised and restarted without any lock.
+ */
+public final class SlidingWindowCounter {
+
+    private static final int COUNT_BITS = 20;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+
+    private final long slotMillis;
+    private final AtomicLongArray slots;
+
+    /**
+     * @param windowMillis length of the window
+     * @param slotCount    slots the window is split into (its resolution)
+     */
+    public SlidingWindowCounter(long windowMillis, int slotCount) {
+        this.slotMillis = Math.max(1, windowMillis / slotCount);
+        this.slots = new AtomicLongArray(slotCount);
+    }
+
+    /**
+     * Count one event and return the number of events in the window including it
+     */
+    public long incrementAndCount(long nowMillis) {
+        long slot = nowMillis / slotMillis;
+        int index = (int) (slot % slots.length());
+        while (true) {
+            long current = slots.get(index);
+            long next = (current >>> COUNT_BITS) == slot
+                    ? (slot << COUNT_BITS) | Math.min(COUNT_MASK, (current & COUNT_MASK) + 1)
+                    : (slot << COUNT_BITS) | 1;
+            if (slots.compareAndSet(index, current, next)) break;
+        }
+        return count(nowMillis);
+    }
+
+    /**
+     * Events in the window ending now
+     */
+    public long count(long nowMillis) {
+        long slot = nowMillis / slotMillis;
+        long total = 0;
+        for (int i = 0; i < slots.length(); i++) {
+            long value = slots.get(i);
+            if (slot - (value >>> COUNT_BITS) < slots.length()) {
+                total += value & COUNT_MASK;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Milliseconds until the oldest counted slot leaves the window (0 when empty)
+     */
+    public long millisUntilOldestExpires(long nowMillis) {
+        long slot = nowMillis / slotMillis;
+        long oldest = Long.MAX_VALUE;
+        for (int i = 0; i < slots.length(); i++) {
+            long value = slots.get(i);
+            long valueSlot = value >>> COUNT_BITS;
+            if ((value & COUNT_MASK) > 0 && slot - valueSlot < slots.length()) {
+                oldest = Math.min(oldest, valueSlot);
+            }
+        }
+        return oldest == Long.MAX_VALUE ? 0 : (oldest + slots.length()) * slotMillis - nowMillis;
+    }
+
+    /**
+     * True once every counted event has left the window
+     */
+    public boolean isIdle(long nowMillis) {
+        return count(nowMillis) == 0;
+    }
+}
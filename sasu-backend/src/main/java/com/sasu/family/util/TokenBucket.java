@@ -0,0 +1,57 @@
+package com.sasu.family.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token Bucket
+ *
+ * Lock-free token bucket held in a single AtomicLong, in the "virtual
+ * scheduling" form: the bucket stores the time at which it would be full
+ * again, and a request is allowed when taking one token keeps that time
+ * within one full bucket of now. Taking a token is one compare-and-set.
+ *
+ * A bucket whose full time has passed holds nothing worth keeping and
+ * can be dropped; a new bucket starts full.
+ */
+public final class TokenBucket {
+
+    private final long nanosPerToken;
+    private final long burstNanos;
+    private final AtomicLong fullAt;
+
+    /**
+     * @param capacity        tokens the bucket holds (burst size)
+     * @param tokensPerSecond refill rate
+     */
+    public TokenBucket(int capacity, double tokensPerSecond, long nowNanos) {
+        this.nanosPerToken = Math.max(1, (long) (1_000_000_000L / tokensPerSecond));
+        this.burstNanos = nanosPerToken * capacity;
+        this.fullAt = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Take one token
+     *
+     * @return 0 when allowed, otherwise the nanoseconds until a token is available
+     */
+    public long tryTake(long nowNanos) {
+        while (true) {
+            long current = fullAt.get();
+            long base = current - nowNanos > 0 ? current : nowNanos;
+            long next = base + nanosPerToken;
+            if (next - nowNanos > burstNanos) {
+                return next - nowNanos - burstNanos;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * True once the bucket has refilled completely
+     */
+    public boolean isIdle(long nowNanos) {
+        return fullAt.get() - nowNanos <= 0;
+    }
+}